@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmark;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Наборы сущностей в памяти для бенчмарков. Данные детерминированы, чтобы результаты
+ * разных прогонов можно было сравнивать.
+ */
+@UtilityClass
+public class BenchmarkData {
+    public static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    public User user(int id) {
+        return new User(id, "user" + id, "user" + id + "@shareit.ru");
+    }
+
+    public List<Item> items(int count, User owner) {
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            items.add(Item.builder()
+                    .id(i)
+                    .name("Дрель " + i)
+                    .description("Ударная дрель, почти новая, номер " + i)
+                    .available(i % 5 != 0)
+                    .owner(owner)
+                    .bookings(new ArrayList<>())
+                    .version(0L)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * Бронирования вещи разными пользователями; прошедшие подтверждены, будущие ожидают.
+     */
+    public List<Booking> bookings(int count, Item item) {
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime start = NOW.minusDays(count).plusDays(2L * i);
+            bookings.add(Booking.builder()
+                    .id(i)
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .item(item)
+                    .booker(user(i + 1))
+                    .status(start.isBefore(NOW) ? BookingStatus.APPROVED : BookingStatus.WAITING)
+                    .version(0L)
+                    .build());
+        }
+        return bookings;
+    }
+
+    public List<Comment> comments(int count, Item item) {
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            comments.add(Comment.builder()
+                    .id(i)
+                    .text("Отличная вещь, спасибо! " + i)
+                    .item(item)
+                    .author(user(i + 1))
+                    .created(NOW.minusHours(i))
+                    .build());
+        }
+        return comments;
+    }
+
+    public ItemRequest request(int id, User requestor) {
+        return ItemRequest.builder()
+                .id(id)
+                .description("Нужна дрель на выходные")
+                .requestor(requestor)
+                .created(NOW)
+                .version(0L)
+                .build();
+    }
+}
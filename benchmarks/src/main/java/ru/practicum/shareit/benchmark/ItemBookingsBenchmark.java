@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemBookingView;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ItemMapper#setBookings} над страницей вещей владельца: сборка DTO из последних и следующих
+ * бронирований, которые сервис получает из БД. Списки бронирований построены заранее.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ItemBookingsBenchmark {
+
+    @Param({"20", "1000", "10000"})
+    private int items;
+
+    private List<ItemDto> dtos;
+    private List<ItemBookingView> last;
+    private List<ItemBookingView> next;
+
+    @Setup
+    public void setUp() {
+        last = new ArrayList<>(items);
+        next = new ArrayList<>(items);
+        for (int i = 1; i <= items; i++) {
+            last.add(new View(i, 2 * i, i + 1));
+            // у части вещей нет будущих бронирований
+            if (i % 3 != 0) {
+                next.add(new View(i, 2 * i + 1, i + 2));
+            }
+        }
+        // setBookings лишь перезаписывает поля, поэтому страницу можно переиспользовать между вызовами
+        dtos = BenchmarkData.items(items, BenchmarkData.user(1)).stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDto> setBookings() {
+        ItemMapper.setBookings(dtos, last, next);
+        return dtos;
+    }
+
+    private static class View implements ItemBookingView {
+        private final Integer itemId;
+        private final Integer id;
+        private final Integer bookerId;
+
+        View(Integer itemId, Integer id, Integer bookerId) {
+            this.itemId = itemId;
+            this.id = id;
+            this.bookerId = bookerId;
+        }
+
+        @Override
+        public Integer getItemId() {
+            return itemId;
+        }
+
+        @Override
+        public Integer getId() {
+            return id;
+        }
+
+        @Override
+        public Integer getBookerId() {
+            return bookerId;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Сериализация ответов так, как её делает Spring MVC в сервере.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<ItemDto> itemDtos;
+    private List<BookingResponse> bookingResponses;
+
+    @Setup
+    public void setUp() {
+        // те же настройки, что применяет JacksonAutoConfiguration
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        User owner = BenchmarkData.user(1);
+        List<Item> items = BenchmarkData.items(size, owner);
+        List<CommentResponse> comments = BenchmarkData.comments(3, items.get(0)).stream()
+                .map(CommentMapper::toDto)
+                .collect(Collectors.toList());
+        itemDtos = items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+        for (ItemDto dto : itemDtos) {
+            dto.setLastBooking(BookingResponseDto.builder().id(dto.getId() * 2).bookerId(2).build());
+            dto.setNextBooking(BookingResponseDto.builder().id(dto.getId() * 2 + 1).bookerId(3).build());
+            dto.setComments(comments);
+        }
+        bookingResponses = BenchmarkData.bookings(size, items.get(0)).stream()
+                .map(BookingMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] itemDtos() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(itemDtos);
+    }
+
+    @Benchmark
+    public byte[] bookingResponses() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(bookingResponses);
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentRequest;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Преобразование списков сущностей в DTO - так, как это делают сервисы при выдаче страницы.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+    private ItemRequest request;
+    private Item bookedItem;
+    private CommentRequest commentRequest;
+
+    @Setup
+    public void setUp() {
+        User owner = BenchmarkData.user(1);
+        items = BenchmarkData.items(size, owner);
+        bookings = BenchmarkData.bookings(size, items.get(0));
+        comments = BenchmarkData.comments(size, items.get(0));
+        request = BenchmarkData.request(1, BenchmarkData.user(2));
+
+        bookedItem = items.get(0);
+        bookedItem.setBookings(bookings);
+        // худший случай: подходящее бронирование - первое прошедшее с конца списка
+        Booking lastPast = bookings.stream()
+                .filter(booking -> booking.getEnd().isBefore(BenchmarkData.NOW))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        commentRequest = CommentRequest.builder()
+                .text("Спасибо")
+                .userId(lastPast.getBooker().getId())
+                .itemId(bookedItem.getId())
+                .build();
+    }
+
+    @Benchmark
+    public void itemToDto(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(ItemMapper.toItemDto(item));
+        }
+    }
+
+    @Benchmark
+    public void bookingToDto(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.mapToDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void commentToDto(Blackhole blackhole) {
+        for (Comment comment : comments) {
+            blackhole.consume(CommentMapper.toDto(comment));
+        }
+    }
+
+    @Benchmark
+    public Object itemRequestToDto() {
+        return ItemRequestMapper.mapToDto(request, items);
+    }
+
+    /**
+     * Поиск подходящего бронирования в списке бронирований вещи перед сохранением отзыва.
+     */
+    @Benchmark
+    public void commentCheckUserBookedItem() {
+        CommentMapper.checkUserBookedItem(commentRequest, bookedItem);
+    }
+}
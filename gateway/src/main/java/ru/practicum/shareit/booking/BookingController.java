@@ -3,11 +3,13 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exceptions.GatewayException;
@@ -26,35 +28,38 @@ public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsOfUser(@RequestHeader(USER_ID_HEADER) int userId,
+    public Mono<ResponseEntity<Object>> getBookingsOfUser(@RequestHeader(USER_ID_HEADER) int userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new GatewayException(String.format("Unknown state: %s", stateParam), HttpStatus.BAD_REQUEST));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(USER_ID_HEADER) int userId,
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader(USER_ID_HEADER) int userId,
                                            @RequestBody @Valid BookItemRequestDto requestDto) {
         log.info("Creating booking {}, userId={}", requestDto, userId);
         return bookingClient.bookItem(userId, requestDto);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@RequestHeader(USER_ID_HEADER) int userId,
-                                             @PathVariable Long bookingId) {
+    public Mono<ResponseEntity<Object>> getBookingById(@RequestHeader(USER_ID_HEADER) int userId,
+                                             @PathVariable Long bookingId,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Get booking {}, userId={}", bookingId, userId);
-        return bookingClient.getBooking(userId, bookingId);
+        return bookingClient.getBooking(userId, bookingId, ifNoneMatch);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOfOwner(@RequestHeader(USER_ID_HEADER) int ownerId,
+    public Mono<ResponseEntity<Object>> getBookingsOfOwner(@RequestHeader(USER_ID_HEADER) int ownerId,
                                                      @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                                     @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                     @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new GatewayException(String.format("Unknown state: %s", stateParam), HttpStatus.BAD_REQUEST));
         log.info(
@@ -62,11 +67,11 @@ public class BookingController {
                 ownerId,
                 state
         );
-        return bookingClient.getBookingsOfOwner(ownerId, state, from, size);
+        return bookingClient.getBookingsOfOwner(ownerId, state, from, size, cursor);
     }
 
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatus(@PathVariable("bookingId") Integer bookingId,
+    public Mono<ResponseEntity<Object>> updateStatus(@PathVariable("bookingId") Integer bookingId,
                                                @RequestParam("approved") boolean approved,
                                                @RequestHeader(USER_ID_HEADER) int userId) {
         log.info(
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки общего пула соединений gateway -> server.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit-server.http")
+public class HttpClientProperties {
+    /**
+     * Всего соединений в пуле.
+     */
+    private int maxTotal = 200;
+    /**
+     * Соединений на один хост:порт. Все клиенты ходят на один сервер, поэтому обычно равно maxTotal.
+     */
+    private int maxPerRoute = 200;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(30);
+    /**
+     * Сколько ждать свободного соединения из пула.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    /**
+     * Сколько держать соединение открытым, если сервер не прислал заголовок Keep-Alive.
+     */
+    private Duration keepAlive = Duration.ofSeconds(30);
+    /**
+     * Простаивающие дольше соединения закрываются фоновым потоком.
+     */
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    /**
+     * Соединение, простоявшее дольше, проверяется перед выдачей из пула.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    /**
+     * Отдавать клиенту тело успешного ответа сервера как есть, массивом байт, не разбирая JSON.
+     * Если выключено, тело разбирается в Object и сериализуется gateway заново.
+     */
+    private boolean passThrough = true;
+    /**
+     * Объединять одинаковые одновременные GET в один запрос к серверу.
+     */
+    private boolean singleFlight = true;
+}
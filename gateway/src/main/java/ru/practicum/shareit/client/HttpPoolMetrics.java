@@ -0,0 +1,34 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Состояние пула соединений к серверу: shareit.http.pool.{leased,available,pending,max}.
+ * pending > 0 означает, что запросы ждут свободного соединения.
+ */
+@RequiredArgsConstructor
+public class HttpPoolMetrics implements MeterBinder {
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "leased", "Соединения, занятые запросами", PoolStats::getLeased);
+        gauge(registry, "available", "Свободные открытые соединения", PoolStats::getAvailable);
+        gauge(registry, "pending", "Запросы, ждущие соединения", PoolStats::getPending);
+        gauge(registry, "max", "Максимум соединений в пуле", PoolStats::getMax);
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToIntFunction<PoolStats> value) {
+        Gauge.builder("shareit.http.pool." + name, connectionManager,
+                        manager -> value.applyAsInt(manager.getTotalStats()))
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Неблокирующий режим: WebClient на Reactor Netty. Контроллеры возвращают Mono,
+ * поток сервлета освобождается до ответа сервера, запросы обслуживает event loop Netty.
+ * Метрики пула - reactor.netty.connection.provider.*.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-server.client-mode", havingValue = "reactive")
+@EnableConfigurationProperties(HttpClientProperties.class)
+public class ReactiveClientConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider serverConnectionProvider(HttpClientProperties properties) {
+        return ConnectionProvider.builder("shareit-server")
+                .maxConnections(properties.getMaxTotal())
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getKeepAlive())
+                .evictInBackground(properties.getMaxIdleTime())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ServerTransportFactory webClientTransportFactory(ConnectionProvider serverConnectionProvider,
+                                                            HttpClientProperties properties,
+                                                            WebClient.Builder builder,
+                                                            SingleFlight singleFlight,
+                                                            UpstreamMetrics upstreamMetrics) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getReadTimeout())
+                .keepAlive(true);
+        ReactorClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        Class<?> responseType = properties.isPassThrough() ? byte[].class : Object.class;
+        return baseUrl -> upstreamMetrics.wrap(baseUrl, singleFlight.wrap(new WebClientTransport(builder.clone()
+                .clientConnector(connector)
+                .uriBuilderFactory(new DefaultUriBuilderFactory(baseUrl))
+                .build(), responseType)));
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Создаёт транспорт для клиента с заданным базовым адресом. Реализация выбирается
+ * свойством shareit-server.client-mode: blocking (по умолчанию) или reactive.
+ */
+public interface ServerTransportFactory {
+    ServerTransport create(String baseUrl);
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Объединение одинаковых одновременных GET: пока запрос к серверу выполняется, такие же запросы
+ * (путь, параметры, заголовки - в том числе X-Sharer-User-Id и If-None-Match) не уходят на сервер,
+ * а получают его ответ. Ответ не кэшируется: следующий запрос после завершения снова идёт на сервер.
+ * <p>
+ * Метрика shareit.http.single-flight: result=upstream - запросы, ушедшие на сервер,
+ * result=shared - получившие чужой ответ. Доля объединённых - shared / (upstream + shared).
+ */
+@Component
+public class SingleFlight {
+    private final boolean enabled;
+    private final Counter upstream;
+    private final Counter shared;
+
+    public SingleFlight(HttpClientProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isSingleFlight();
+        this.upstream = counter(registry, "upstream");
+        this.shared = counter(registry, "shared");
+    }
+
+    public ServerTransport wrap(ServerTransport transport) {
+        if (!enabled) {
+            return transport;
+        }
+        ConcurrentMap<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+        return (method, path, headers, parameters, body) -> {
+            if (method != HttpMethod.GET) {
+                return transport.exchange(method, path, headers, parameters, body);
+            }
+            String key = key(path, headers, parameters);
+            return Mono.defer(() -> share(inFlight, key,
+                    () -> transport.exchange(method, path, headers, parameters, null)));
+        };
+    }
+
+    private Mono<ResponseEntity<Object>> share(ConcurrentMap<String, Mono<ResponseEntity<Object>>> inFlight,
+                                               String key, Supplier<Mono<ResponseEntity<Object>>> call) {
+        AtomicReference<Mono<ResponseEntity<Object>>> created = new AtomicReference<>();
+        Mono<ResponseEntity<Object>> response = inFlight.computeIfAbsent(key, k -> {
+            Mono<ResponseEntity<Object>> shared = call.get()
+                    .doFinally(signal -> inFlight.remove(k, created.get()))
+                    .cache();
+            created.set(shared);
+            return shared;
+        });
+        (response == created.get() ? upstream : shared).increment();
+        return response;
+    }
+
+    private static String key(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+        return path + ' ' + (parameters == null ? "" : new TreeMap<>(parameters)) + ' ' + headers;
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("shareit.http.single-flight")
+                .description("GET-запросы к серверу: отправленные и получившие ответ одновременного такого же запроса")
+                .tag("result", result)
+                .register(registry);
+    }
+}
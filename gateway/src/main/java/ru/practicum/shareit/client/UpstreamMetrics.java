@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Таймер shareit.upstream на каждый запрос клиента к серверу с тегами method, uri и status.
+ * Клиенты подставляют id в путь сами, поэтому uri - шаблон: числовые сегменты заменяются на {id},
+ * параметры отбрасываются (/bookings/5?approved=true -> /bookings/{id}). Если ответа нет,
+ * status=IO_ERROR, если клиент не дождался ответа - status=CANCELLED.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamMetrics {
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private final MeterRegistry registry;
+
+    public ServerTransport wrap(String baseUrl, ServerTransport transport) {
+        String prefix = URI.create(baseUrl).getPath();
+        return (method, path, headers, parameters, body) -> {
+            String uri = uriTemplate(prefix, path);
+            return transport.exchange(method, path, headers, parameters, body)
+                    .transformDeferred(response -> {
+                        Timer.Sample sample = Timer.start(registry);
+                        return response
+                                .doOnSuccess(r -> stop(sample, method.name(), uri,
+                                        r == null ? "NONE" : String.valueOf(r.getStatusCodeValue())))
+                                .doOnError(e -> stop(sample, method.name(), uri, "IO_ERROR"))
+                                .doOnCancel(() -> stop(sample, method.name(), uri, "CANCELLED"));
+                    });
+        };
+    }
+
+    static String uriTemplate(String prefix, String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query < 0 ? path : path.substring(0, query);
+        return NUMERIC_SEGMENT.matcher(prefix + withoutQuery).replaceAll("/{id}");
+    }
+
+    private void stop(Timer.Sample sample, String method, String uri, String status) {
+        sample.stop(Timer.builder("shareit.upstream")
+                .description("Запросы gateway к серверу")
+                .tags("method", method, "uri", uri, "status", status)
+                .register(registry));
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующий транспорт: пока сервер отвечает, ни один поток не занят.
+ */
+@RequiredArgsConstructor
+public class WebClientTransport implements ServerTransport {
+    private final WebClient webClient;
+    private final Class<?> responseType;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(h -> h.addAll(headers));
+        WebClient.RequestHeadersSpec<?> withBody = body != null ? request.bodyValue(body) : request;
+        return withBody.exchangeToMono(response -> {
+            if (response.statusCode().is2xxSuccessful() || response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                return response.toEntity(responseType).map(entity -> (ResponseEntity<Object>) entity);
+            }
+            return response.bodyToMono(byte[].class)
+                    .map(bytes -> ResponseEntity.status(response.rawStatusCode()).<Object>body(bytes))
+                    .defaultIfEmpty(ResponseEntity.status(response.rawStatusCode()).build());
+        });
+    }
+}
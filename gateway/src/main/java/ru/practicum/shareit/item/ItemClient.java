@@ -1,47 +1,51 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl,
-                      RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    private final ItemSearchCache searchCache;
+
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transports,
+                      ItemSearchCache searchCache) {
+        super(transports.create(serverUrl + API_PREFIX));
+        this.searchCache = searchCache;
     }
 
-    public ResponseEntity<Object> createItem(int userId, ItemDto dto) {
-        return post("", userId, dto);
+    public Mono<ResponseEntity<Object>> createItem(int userId, ItemDto dto) {
+        return post("", userId, dto).doOnNext(this::invalidateSearchOnSuccess);
     }
 
-    public ResponseEntity<Object> updateItem(int userId, ItemDto dto, int itemId) {
+    public Mono<ResponseEntity<Object>> createItems(int userId, List<ItemDto> dtos) {
+        return post("/batch", userId, dtos).doOnNext(this::invalidateSearchOnSuccess);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(int userId, ItemDto dto, int itemId) {
         String path = String.format("/%d", itemId);
-        return patch(path, userId, dto);
+        return patch(path, userId, dto).doOnNext(this::invalidateSearchOnSuccess);
     }
 
-    public ResponseEntity<Object> getItemById(int itemId, int userId) {
+    public Mono<ResponseEntity<Object>> getItemById(int itemId, int userId, String ifNoneMatch) {
         String path = String.format("/%d", itemId);
-        return get(path, userId);
+        return getIfNoneMatch(path, userId, ifNoneMatch);
     }
 
-    public ResponseEntity<Object> getItemsForUser(int userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemsForUser(int userId, int from, int size) {
         Map<String, Object> params = Map.of(
                 "from", from,
                 "size", size
@@ -49,17 +53,33 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, params);
     }
 
-    public ResponseEntity<Object> searchItems(String query, int from, int size) {
+    public Mono<ResponseEntity<Object>> searchItems(String query, int from, int size) {
         Map<String, Object> params = Map.of(
                 "text", query,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, params);
+        return searchCache.get(query, from, size,
+                () -> get("/search?text={text}&from={from}&size={size}", null, params));
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(List<Integer> itemIds, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> params = Map.of(
+                "itemIds", itemIds.stream().map(String::valueOf).collect(Collectors.joining(",")),
+                "start", start,
+                "end", end
+        );
+        return get("/availability?itemIds={itemIds}&start={start}&end={end}", null, params);
     }
 
-    public ResponseEntity<Object> postComment(int itemId, int userId, CommentDto dto) {
+    public Mono<ResponseEntity<Object>> postComment(int itemId, int userId, CommentDto dto) {
         String path = String.format("/%d/comment", itemId);
         return post(path, userId, dto);
     }
+
+    private void invalidateSearchOnSuccess(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            searchCache.invalidateAll();
+        }
+    }
 }
\ No newline at end of file
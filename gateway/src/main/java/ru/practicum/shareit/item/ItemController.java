@@ -2,15 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @RestController
 @RequestMapping("/items")
@@ -24,7 +30,7 @@ public class ItemController {
     private final ItemClient itemClient;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(value = USER_HEADER) Integer userId,
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(value = USER_HEADER) Integer userId,
                                              @RequestBody @Valid ItemDto dto) {
         log.info(
                 "Received POST request to create Item {} by user with id = {}",
@@ -34,8 +40,16 @@ public class ItemController {
         return itemClient.createItem(userId, dto);
     }
 
+    // пакет целиком проверяет сервер, чтобы не валидировать тысячи элементов дважды
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(@RequestHeader(value = USER_HEADER) Integer userId,
+                                                    @RequestBody List<ItemDto> dtos) {
+        log.info("Received POST request to create {} items by user with id = {}", dtos.size(), userId);
+        return itemClient.createItems(userId, dtos);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(value = USER_HEADER) Integer userId,
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(value = USER_HEADER) Integer userId,
                                              @RequestBody ItemDto dto,
                                              @PathVariable("itemId") Integer itemId) {
         log.info(
@@ -47,14 +61,15 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItemById(@PathVariable("itemId") Integer itemId,
-                                              @RequestHeader(USER_HEADER) Integer userId) {
+    public Mono<ResponseEntity<Object>> getItemById(@PathVariable("itemId") Integer itemId,
+                                              @RequestHeader(USER_HEADER) Integer userId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to GET Item by id = {}", itemId);
-        return itemClient.getItemById(itemId, userId);
+        return itemClient.getItemById(itemId, userId, ifNoneMatch);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsForUser(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
+    public Mono<ResponseEntity<Object>> getItemsForUser(@RequestHeader(value = "X-Sharer-User-Id") Integer userId,
                                                   @RequestParam(value = "from", defaultValue = "0", required = false) @PositiveOrZero int from,
                                                   @RequestParam(value = "size", defaultValue = "10", required = false) @Positive int size) {
         log.info("Received request to GET items for user with id={}", userId);
@@ -62,15 +77,23 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam("text") String query,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam("text") String query,
                                               @RequestParam(value = "from", defaultValue = "0", required = false) @PositiveOrZero int from,
                                               @RequestParam(value = "size", defaultValue = "10", required = false) @PositiveOrZero int size) {
         log.info("Received GET request to search for items by query = {}", query);
         return itemClient.searchItems(query, from, size);
     }
 
+    @GetMapping("/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestParam("itemIds") @NotEmpty List<Integer> itemIds,
+                                                  @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                  @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        log.info("Received GET request for availability of {} items from {} to {}", itemIds.size(), start, end);
+        return itemClient.getAvailability(itemIds, start, end);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> postComment(@PathVariable("itemId") Integer itemId,
+    public Mono<ResponseEntity<Object>> postComment(@PathVariable("itemId") Integer itemId,
                                               @RequestHeader(USER_HEADER) Integer userId,
                                               @RequestBody @Valid CommentDto dto) {
         log.info(
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Кэш успешных ответов /items/search. Поиск на сервере не зависит от регистра и
+ * пользователя, а from округляется до начала страницы, поэтому ключ нормализуется так же.
+ * Метрики - cache.gets{cache=item-search, result=hit|miss}, cache.evictions, cache.size.
+ * <p>
+ * Сброс увеличивает поколение кэша: ответ, загрузка которого началась до сброса, в кэш не попадает.
+ */
+public class ItemSearchCache {
+    private static final String CACHE_NAME = "item-search";
+
+    private final boolean enabled;
+    private final Cache<Key, ResponseEntity<Object>> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemSearchCache(ItemSearchCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    public Mono<ResponseEntity<Object>> get(String text, int from, int size,
+                                            Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = Key.of(text, from, size);
+        ResponseEntity<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.defer(() -> {
+            long loadGeneration = generation.get();
+            return loader.get().doOnNext(response -> {
+                if (response.getStatusCode().is2xxSuccessful()) {
+                    put(key, response, loadGeneration);
+                }
+            });
+        });
+    }
+
+    /**
+     * Вызывается после изменения вещи через этот gateway.
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private void put(Key key, ResponseEntity<Object> response, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        cache.put(key, response);
+        // сброс между проверкой и записью мог не увидеть этот ответ
+        if (generation.get() != loadGeneration) {
+            cache.asMap().remove(key, response);
+        }
+    }
+
+    @Value
+    static class Key {
+        String text;
+        int from;
+        int size;
+
+        static Key of(String text, int from, int size) {
+            String normalized = text == null || text.isBlank() ? "" : text.toLowerCase(Locale.ROOT);
+            int pageStart = size > 0 ? from / size * size : from;
+            return new Key(normalized, pageStart, size);
+        }
+    }
+}
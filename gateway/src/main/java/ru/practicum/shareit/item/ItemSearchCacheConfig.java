@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ItemSearchCacheProperties.class)
+public class ItemSearchCacheConfig {
+
+    @Bean
+    public ItemSearchCache itemSearchCache(ItemSearchCacheProperties properties, MeterRegistry registry) {
+        return new ItemSearchCache(properties, registry);
+    }
+}
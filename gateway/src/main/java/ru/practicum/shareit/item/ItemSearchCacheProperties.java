@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Настройки кэша ответов поиска вещей в gateway.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.search-cache")
+public class ItemSearchCacheProperties {
+    private boolean enabled = true;
+    /**
+     * Сколько живёт ответ после загрузки. Дольше этого срока правки вещей, сделанные
+     * через другие экземпляры gateway, в поиске не видны.
+     */
+    private Duration ttl = Duration.ofSeconds(10);
+    /**
+     * Сколько разных запросов хранить; при переполнении вытесняются редкие (W-TinyLFU).
+     */
+    private long maxSize = 10_000;
+}
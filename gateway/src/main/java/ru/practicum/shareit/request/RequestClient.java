@@ -1,12 +1,11 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import java.util.Map;
@@ -16,24 +15,19 @@ public class RequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
-    public RequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public RequestClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transports) {
+        super(transports.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> addRequest(int userid, ItemRequestDto dto) {
+    public Mono<ResponseEntity<Object>> addRequest(int userid, ItemRequestDto dto) {
         return post("", userid, dto);
     }
 
-    public ResponseEntity<Object> getRequestsOfUser(int userId) {
+    public Mono<ResponseEntity<Object>> getRequestsOfUser(int userId) {
         return get("", userId);
     }
 
-    public ResponseEntity<Object> getAllRequests(int userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllRequests(int userId, int from, int size) {
         Map<String, Object> params = Map.of(
                 "from", from,
                 "size", size
@@ -41,9 +35,9 @@ public class RequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", userId, params);
     }
 
-    public ResponseEntity<Object> getRequest(int userId, int requestId) {
+    public Mono<ResponseEntity<Object>> getRequest(int userId, int requestId, String ifNoneMatch) {
         String path = String.format("/%d", requestId);
-        return get(path, userId);
+        return getIfNoneMatch(path, userId, ifNoneMatch);
     }
 
 }
\ No newline at end of file
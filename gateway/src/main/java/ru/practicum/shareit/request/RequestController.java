@@ -2,9 +2,11 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
 import javax.validation.Valid;
@@ -22,20 +24,20 @@ public class RequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> addRequest(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
+    public Mono<ResponseEntity<Object>> addRequest(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
                                              @RequestBody @Valid ItemRequestDto dto) {
         log.info("Received POST request to create ItemRequest {}", dto);
         return requestClient.addRequest(userId, dto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestsOfUser(@RequestHeader(value = USER_HEADER) @NotNull Integer userId) {
+    public Mono<ResponseEntity<Object>> getRequestsOfUser(@RequestHeader(value = USER_HEADER) @NotNull Integer userId) {
         log.info("Received request to GET all ItemRequests of user with id={}", userId);
         return requestClient.getRequestsOfUser(userId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
                                                  @RequestParam(value = "from", defaultValue = "0", required = false) @PositiveOrZero int from,
                                                  @RequestParam(value = "size", defaultValue = "10", required = false) @PositiveOrZero int size) {
         log.info("Received request to GET all ItemRequests not belonging to user with id={}", userId);
@@ -43,9 +45,10 @@ public class RequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequest(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
-                                             @PathVariable("requestId") Integer id) {
+    public Mono<ResponseEntity<Object>> getRequest(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
+                                             @PathVariable("requestId") Integer id,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Received request to GET ItemRequest with id={}", id);
-        return requestClient.getRequest(userId, id);
+        return requestClient.getRequest(userId, id, ifNoneMatch);
     }
 }
\ No newline at end of file
@@ -1,47 +1,47 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransportFactory;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.List;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, ServerTransportFactory transports) {
+        super(transports.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> updateUser(int userId, UserDto dto) {
+    public Mono<ResponseEntity<Object>> updateUser(int userId, UserDto dto) {
         String path = String.format("/%d", userId);
         return patch(path, dto);
     }
 
-    public ResponseEntity<Object> deleteById(int userId) {
+    public Mono<ResponseEntity<Object>> deleteById(int userId) {
         String path = String.format("/%d", userId);
         return delete(path);
     }
 
-    public ResponseEntity<Object> createUser(UserDto dto) {
+    public Mono<ResponseEntity<Object>> createUser(UserDto dto) {
         return post("", dto);
     }
 
-    public ResponseEntity<Object> getUserById(int userId) {
+    public Mono<ResponseEntity<Object>> createUsers(List<UserDto> dtos) {
+        return post("/batch", dtos);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserById(int userId) {
         String path = String.format("/%d", userId);
         return get(path);
     }
 
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         return get("");
     }
 }
\ No newline at end of file
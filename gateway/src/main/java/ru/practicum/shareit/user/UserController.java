@@ -5,9 +5,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
 @RequestMapping(path = "/users")
@@ -19,7 +21,7 @@ public class UserController {
     private final UserClient userClient;
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@PathVariable("userId") int userId,
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable("userId") int userId,
                                              @RequestBody UserDto dto) {
         log.info("Received PATCH request to update user with id={}. User to update={}",
                 userId,
@@ -28,25 +30,32 @@ public class UserController {
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> deleteById(@PathVariable("userId") int userId) {
+    public Mono<ResponseEntity<Object>> deleteById(@PathVariable("userId") int userId) {
         log.info("Received request to DELETE user by id={}", userId);
         return userClient.deleteById(userId);
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@RequestBody @Valid UserDto dto) {
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserDto dto) {
         log.info("Received request to POST user={}", dto);
         return userClient.createUser(dto);
     }
 
+    // пакет целиком проверяет сервер, чтобы не валидировать тысячи элементов дважды
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createUsers(@RequestBody List<UserDto> dtos) {
+        log.info("Received request to POST {} users", dtos.size());
+        return userClient.createUsers(dtos);
+    }
+
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable("userId") int userId) {
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable("userId") int userId) {
         log.info("Received request to GET user by id={}", userId);
         return userClient.getUserById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("Received request to GET all users.");
         return userClient.getAll();
     }
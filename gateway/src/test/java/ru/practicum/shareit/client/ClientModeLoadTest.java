@@ -0,0 +1,154 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Сравнение режимов shareit-server.client-mode при медленном сервере: запросы приходят
+ * с постоянной частотой RATE, сервер отвечает через SERVER_DELAY, так что одновременно
+ * в работе около RATE * SERVER_DELAY запросов - вдвое больше, чем потоков у Tomcat.
+ * Сервер-заглушка и нагрузочный клиент работают на нескольких потоках, поэтому рост
+ * числа потоков JVM приходится на gateway.
+ * <p>
+ * Запуск: mvn -pl gateway test -Dtest=ClientModeLoadTest -Dload-test=true
+ */
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+class ClientModeLoadTest {
+    private static final int RATE = 25;
+    private static final int REQUESTS = RATE * 12;
+    private static final Duration SERVER_DELAY = Duration.ofSeconds(4);
+    private static final int TOMCAT_THREADS = 50;
+
+    private static HttpServer server;
+    private static ScheduledExecutorService delays;
+    private static ExecutorService clientExecutor;
+    private static HttpClient client;
+
+    @BeforeAll
+    static void startServer() throws IOException {
+        delays = Executors.newScheduledThreadPool(4);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/users", exchange ->
+                delays.schedule(() -> respond(exchange), SERVER_DELAY.toMillis(), TimeUnit.MILLISECONDS));
+        server.start();
+        clientExecutor = Executors.newFixedThreadPool(4);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+        delays.shutdownNow();
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    void reactiveMode_UsesFewerThreadsAndKeepsLatencyUnderSlowServer() throws Exception {
+        Result blocking = run("blocking");
+        Result reactive = run("reactive");
+
+        System.out.printf("%-9s %8s %10s %10s%n", "mode", "threads", "p50, ms", "p99, ms");
+        for (Result result : List.of(blocking, reactive)) {
+            System.out.printf("%-9s %8d %10d %10d%n", result.mode, result.peakThreads, result.p50, result.p99);
+        }
+        assertTrue(reactive.peakThreads < blocking.peakThreads);
+        assertTrue(reactive.p99 < blocking.p99);
+    }
+
+    private Result run(String mode) throws Exception {
+        // аргументы командной строки, в отличие от properties(), перекрывают application.properties
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--server.tomcat.accept-count=" + REQUESTS,
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                "--shareit-server.client-mode=" + mode,
+                "--shareit-server.http.max-total=" + REQUESTS,
+                "--shareit-server.http.max-per-route=" + REQUESTS,
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO")) {
+            URI uri = URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port") +
+                    "/users");
+            // прогрев: соединения, JIT, ленивые бины
+            send(uri, RATE);
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            threads.resetPeakThreadCount();
+            long[] latencies = send(uri, REQUESTS);
+            Arrays.sort(latencies);
+            return new Result(mode, threads.getPeakThreadCount(),
+                    latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99) - 1]);
+        }
+    }
+
+    private long[] send(URI uri, int count) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(120)).build();
+        List<CompletableFuture<Long>> responses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TimeUnit.MILLISECONDS.sleep(1000 / RATE);
+            long start = System.nanoTime();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> {
+                        assertEquals(200, response.statusCode());
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }));
+        }
+        return responses.stream().mapToLong(CompletableFuture::join).toArray();
+    }
+
+    private static void respond(HttpExchange exchange) {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        try (exchange) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Result {
+        private final String mode;
+        private final int peakThreads;
+        private final long p50;
+        private final long p99;
+
+        Result(String mode, int peakThreads, long p50, long p99) {
+            this.mode = mode;
+            this.peakThreads = peakThreads;
+            this.p50 = p50;
+            this.p99 = p99;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private MeterRegistry registry;
+    private List<Sinks.One<ResponseEntity<Object>>> calls;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        calls = new ArrayList<>();
+        SingleFlight singleFlight = new SingleFlight(new HttpClientProperties(), registry);
+        transport = singleFlight.wrap((method, path, headers, parameters, body) -> {
+            Sinks.One<ResponseEntity<Object>> call = Sinks.one();
+            calls.add(call);
+            return call.asMono();
+        });
+    }
+
+    @Test
+    void exchange_ConcurrentSameGets_OneUpstreamCall() throws Exception {
+        CompletableFuture<ResponseEntity<Object>> first = get("/items/1", userHeaders(1), null);
+        CompletableFuture<ResponseEntity<Object>> second = get("/items/1", userHeaders(1), null);
+
+        assertEquals(1, calls.size());
+        ResponseEntity<Object> response = ResponseEntity.ok("item");
+        calls.get(0).tryEmitValue(response);
+
+        assertSame(response, first.get());
+        assertSame(response, second.get());
+        assertEquals(1, count("upstream"));
+        assertEquals(1, count("shared"));
+    }
+
+    @Test
+    void exchange_AfterSuccess_NextGetGoesUpstream() throws Exception {
+        CompletableFuture<ResponseEntity<Object>> first = get("/items/1", userHeaders(1), null);
+        calls.get(0).tryEmitValue(ResponseEntity.ok("item"));
+        first.get();
+
+        get("/items/1", userHeaders(1), null);
+
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void exchange_Error_ReachesEveryCallerAndIsNotShared() {
+        CompletableFuture<ResponseEntity<Object>> first = get("/items/1", userHeaders(1), null);
+        CompletableFuture<ResponseEntity<Object>> second = get("/items/1", userHeaders(1), null);
+        IllegalStateException error = new IllegalStateException("connection reset");
+
+        calls.get(0).tryEmitError(error);
+
+        assertSame(error, assertThrows(ExecutionException.class, first::get).getCause());
+        assertSame(error, assertThrows(ExecutionException.class, second::get).getCause());
+
+        get("/items/1", userHeaders(1), null);
+
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void exchange_NotGet_NotCoalesced() {
+        transport.exchange(HttpMethod.POST, "/items", userHeaders(1), null, "item").toFuture();
+        transport.exchange(HttpMethod.POST, "/items", userHeaders(1), null, "item").toFuture();
+
+        assertEquals(2, calls.size());
+        assertEquals(0, count("upstream"));
+    }
+
+    @Test
+    void exchange_DifferentUsersOrParameters_NotCoalesced() {
+        get("/items/search", userHeaders(1), Map.of("text", "drill"));
+        get("/items/search", userHeaders(2), Map.of("text", "drill"));
+        get("/items/search", userHeaders(1), Map.of("text", "saw"));
+        get("/items/search", userHeaders(1), Map.of("text", "drill"));
+
+        assertEquals(3, calls.size());
+        assertEquals(3, count("upstream"));
+        assertEquals(1, count("shared"));
+    }
+
+    private CompletableFuture<ResponseEntity<Object>> get(String path, HttpHeaders headers,
+                                                          Map<String, Object> parameters) {
+        return transport.exchange(HttpMethod.GET, path, headers, parameters, null).toFuture();
+    }
+
+    private static HttpHeaders userHeaders(int userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return headers;
+    }
+
+    private double count(String result) {
+        return registry.counter("shareit.http.single-flight", "result", result).count();
+    }
+}
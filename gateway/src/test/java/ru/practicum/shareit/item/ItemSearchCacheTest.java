@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemSearchCacheTest {
+    private ItemSearchCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemSearchCache(new ItemSearchCacheProperties(), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void key_IgnoresCaseAndRoundsFromDownToPageStart() {
+        assertEquals(ItemSearchCache.Key.of("дрель", 10, 10), ItemSearchCache.Key.of("ДРЕЛЬ", 15, 10));
+        assertEquals(ItemSearchCache.Key.of("", 0, 10), ItemSearchCache.Key.of(" ", 0, 10));
+        assertNotEquals(ItemSearchCache.Key.of("дрель", 0, 10), ItemSearchCache.Key.of("дрель", 10, 10));
+        assertNotEquals(ItemSearchCache.Key.of("дрель", 0, 10), ItemSearchCache.Key.of("дрель", 0, 20));
+    }
+
+    @Test
+    void get_SameNormalizedQuery_LoadsOnce() {
+        ResponseEntity<Object> response = search("Дрель", 0, 10, HttpStatus.OK);
+
+        assertSame(response, search("дрель", 9, 10, HttpStatus.OK));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ErrorResponse_NotCached() {
+        search("дрель", 0, 10, HttpStatus.INTERNAL_SERVER_ERROR);
+        search("дрель", 0, 10, HttpStatus.BAD_REQUEST);
+        search("дрель", 0, 10, HttpStatus.OK);
+        search("дрель", 0, 10, HttpStatus.OK);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_InvalidatedDuringLoad_StaleResponseNotCached() throws Exception {
+        Sinks.One<ResponseEntity<Object>> upstream = Sinks.one();
+        CompletableFuture<ResponseEntity<Object>> stale = cache.get("дрель", 0, 10, upstream::asMono).toFuture();
+
+        cache.invalidateAll();
+        upstream.tryEmitValue(ResponseEntity.ok("stale"));
+
+        assertEquals("stale", stale.get().getBody());
+        search("дрель", 0, 10, HttpStatus.OK);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidateAll_DropsCachedResponses() {
+        search("дрель", 0, 10, HttpStatus.OK);
+
+        cache.invalidateAll();
+        search("дрель", 0, 10, HttpStatus.OK);
+
+        assertEquals(2, loads.get());
+    }
+
+    private ResponseEntity<Object> search(String text, int from, int size, HttpStatus status) {
+        return cache.get(text, from, size, () -> {
+            loads.incrementAndGet();
+            return Mono.just(ResponseEntity.status(status).body((Object) ("result " + loads.get())));
+        }).block();
+    }
+}
@@ -0,0 +1,238 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+
+/**
+ * Пересоздаёт схему сервера и заполняет её данными пакетными вставками JDBC. Id задаются явно,
+ * в конце последовательности переводятся за максимальный id, чтобы сервер продолжил нумерацию.
+ */
+@RequiredArgsConstructor
+class DataSeeder {
+    private static final int BATCH_SIZE = 1_000;
+    // брони вещи укладываются в два года вокруг текущего момента, на одну бронь - не больше трёх суток
+    private static final long BOOKING_WINDOW_SECONDS = Duration.ofDays(2 * 365).toSeconds();
+    private static final long MAX_BOOKING_SLOT_SECONDS = Duration.ofDays(3).toSeconds();
+
+    private final Dataset dataset;
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    void seed() throws SQLException {
+        Random random = new Random(dataset.getSeed());
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            createSchema(connection);
+            connection.setAutoCommit(false);
+            long started = System.nanoTime();
+            insertUsers(connection);
+            insertRequests(connection, random);
+            int[] itemOwners = insertItems(connection, random);
+            PastBookings pastBookings = insertBookings(connection, random, itemOwners);
+            insertComments(connection, random, pastBookings);
+            restartSequences(connection);
+            System.out.printf("Данные созданы за %d с%n", Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        }
+    }
+
+    private void createSchema(Connection connection) {
+        ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema.sql"));
+        if (url.startsWith("jdbc:postgresql:")) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("schema-postgresql.sql"));
+        }
+    }
+
+    private void insertUsers(Connection connection) throws SQLException {
+        insert(connection, "users", "insert into users (id, name, email) values (?, ?, ?)",
+                dataset.getUsers(), (statement, id) -> {
+                    statement.setInt(1, id);
+                    statement.setString(2, "user" + id);
+                    statement.setString(3, "user" + id + "@load.shareit.ru");
+                });
+    }
+
+    private void insertRequests(Connection connection, Random random) throws SQLException {
+        insert(connection, "requests",
+                "insert into requests (id, requestor_id, item_description, created) values (?, ?, ?, ?)",
+                dataset.getRequests(), (statement, id) -> {
+                    statement.setInt(1, id);
+                    statement.setInt(2, dataset.randomUser(random));
+                    statement.setString(3, "Нужен " + Dataset.randomNoun(random) + " на выходные");
+                    statement.setTimestamp(4, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+                });
+    }
+
+    /**
+     * Владельцы распределены по Ципфу: у нескольких пользователей тысячи вещей, у большинства - ни одной.
+     */
+    private int[] insertItems(Connection connection, Random random) throws SQLException {
+        int[] owners = new int[dataset.getItems() + 1];
+        insert(connection, "items",
+                "insert into items (id, owner_id, name, description, is_available, request_id) values (?, ?, ?, ?, ?, ?)",
+                dataset.getItems(), (statement, id) -> {
+                    String noun = Dataset.randomNoun(random);
+                    owners[id] = dataset.hotOwner(random);
+                    statement.setInt(1, id);
+                    statement.setInt(2, owners[id]);
+                    statement.setString(3, noun + " " + id);
+                    statement.setString(4, Dataset.randomAdjective(random) + " " + noun + ", "
+                            + Dataset.randomAdjective(random) + " и " + Dataset.randomAdjective(random));
+                    statement.setBoolean(5, random.nextInt(10) != 0);
+                    if (dataset.getRequests() > 0 && random.nextInt(10) == 0) {
+                        statement.setInt(6, random.nextInt(dataset.getRequests()) + 1);
+                    } else {
+                        statement.setObject(6, null);
+                    }
+                });
+        return owners;
+    }
+
+    /**
+     * Вещи для броней выбираются по Ципфу. Брони одной вещи идут друг за другом без пересечений
+     * (в PostgreSQL подтверждённые брони не могут пересекаться), примерно половина из них - в прошлом.
+     * Чем популярнее вещь, тем короче её брони.
+     */
+    private PastBookings insertBookings(Connection connection, Random random, int[] itemOwners)
+            throws SQLException {
+        int count = dataset.getBookings();
+        int[] bookingItems = new int[count + 1];
+        int[] bookingsPerItem = new int[dataset.getItems() + 1];
+        for (int id = 1; id <= count; id++) {
+            bookingItems[id] = dataset.popularItem(random);
+            bookingsPerItem[bookingItems[id]]++;
+        }
+        LocalDateTime[] cursors = new LocalDateTime[dataset.getItems() + 1];
+        long[] slots = new long[dataset.getItems() + 1];
+        for (int item = 1; item <= dataset.getItems(); item++) {
+            int bookingsOfItem = Math.max(bookingsPerItem[item], 1);
+            slots[item] = Math.min(MAX_BOOKING_SLOT_SECONDS, BOOKING_WINDOW_SECONDS / bookingsOfItem);
+            cursors[item] = now.minusSeconds(bookingsOfItem * slots[item] / 2);
+        }
+        PastBookings past = new PastBookings(count);
+        insert(connection, "bookings",
+                "insert into bookings (id, booker_id, item_id, start_date, end_date, status) values (?, ?, ?, ?, ?, ?)",
+                count, (statement, id) -> {
+                    int item = bookingItems[id];
+                    int booker = dataset.randomUser(random);
+                    if (booker == itemOwners[item]) {
+                        booker = booker % dataset.getUsers() + 1;
+                    }
+                    // пауза до трети слота, аренда - от трети до двух третей
+                    long third = slots[item] / 3;
+                    LocalDateTime start = cursors[item].plusSeconds(1 + (long) (random.nextDouble() * third));
+                    LocalDateTime end = start.plusSeconds(third + (long) (random.nextDouble() * third));
+                    cursors[item] = end;
+                    String status = status(random, start, end);
+                    if (end.isBefore(now) && status.equals("APPROVED")) {
+                        past.add(item, booker, end);
+                    }
+                    statement.setInt(1, id);
+                    statement.setInt(2, booker);
+                    statement.setInt(3, item);
+                    statement.setTimestamp(4, Timestamp.valueOf(start));
+                    statement.setTimestamp(5, Timestamp.valueOf(end));
+                    statement.setString(6, status);
+                });
+        return past;
+    }
+
+    private String status(Random random, LocalDateTime start, LocalDateTime end) {
+        int dice = random.nextInt(100);
+        if (end.isBefore(now)) {
+            return dice < 85 ? "APPROVED" : dice < 95 ? "REJECTED" : "CANCELED";
+        }
+        if (start.isAfter(now)) {
+            return dice < 60 ? "APPROVED" : "WAITING";
+        }
+        return "APPROVED";
+    }
+
+    /**
+     * Отзывы оставляют только авторы завершённых подтверждённых броней - как требует сервер.
+     */
+    private void insertComments(Connection connection, Random random, PastBookings past) throws SQLException {
+        int count = past.size == 0 ? 0 : dataset.getComments();
+        insert(connection, "comments",
+                "insert into comments (id, item_id, author_id, text, created) values (?, ?, ?, ?, ?)",
+                count, (statement, id) -> {
+                    int booking = random.nextInt(past.size);
+                    statement.setInt(1, id);
+                    statement.setInt(2, past.items[booking]);
+                    statement.setInt(3, past.bookers[booking]);
+                    statement.setString(4, "Всё отлично, " + Dataset.randomAdjective(random) + " "
+                            + Dataset.randomNoun(random));
+                    statement.setTimestamp(5, Timestamp.valueOf(past.ends[booking].plusHours(1)));
+                });
+    }
+
+    private void restartSequences(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            restart(statement, "users_seq", dataset.getUsers());
+            restart(statement, "requests_seq", dataset.getRequests());
+            restart(statement, "items_seq", dataset.getItems());
+            restart(statement, "bookings_seq", dataset.getBookings());
+            restart(statement, "comments_seq", dataset.getComments());
+        }
+        connection.commit();
+    }
+
+    private void restart(Statement statement, String sequence, int maxId) throws SQLException {
+        statement.execute("alter sequence " + sequence + " restart with " + (maxId + 1));
+    }
+
+    private void insert(Connection connection, String table, String sql, int count, RowWriter writer)
+            throws SQLException {
+        long started = System.nanoTime();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int id = 1; id <= count; id++) {
+                writer.write(statement, id);
+                statement.addBatch();
+                if (id % BATCH_SIZE == 0 || id == count) {
+                    statement.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        System.out.printf("%-9s %,10d за %d с%n", table, count,
+                Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement statement, int id) throws SQLException;
+    }
+
+    private static class PastBookings {
+        private final int[] items;
+        private final int[] bookers;
+        private final LocalDateTime[] ends;
+        private int size;
+
+        PastBookings(int capacity) {
+            items = new int[capacity];
+            bookers = new int[capacity];
+            ends = new LocalDateTime[capacity];
+        }
+
+        void add(int item, int booker, LocalDateTime end) {
+            items[size] = item;
+            bookers[size] = booker;
+            ends[size] = end;
+            size++;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.util.Random;
+
+/**
+ * Масштаб и форма тестовых данных. И seed, и run строят его из одних и тех же параметров,
+ * поэтому нагрузка обращается к тем же «горячим» владельцам и вещам, что созданы при заполнении.
+ */
+@Getter
+class Dataset {
+    static final String[] NOUNS = {"дрель", "перфоратор", "палатка", "велосипед", "самокат", "лестница",
+            "шуруповёрт", "болгарка", "спальник", "рюкзак", "проектор", "колонка", "фотоаппарат", "штатив",
+            "байдарка", "лодка", "мангал", "газонокосилка", "пылесос", "отпариватель", "коньки", "лыжи",
+            "сноуборд", "удочка", "гитара", "синтезатор", "микрофон", "коляска", "автокресло", "стремянка"};
+    static final String[] ADJECTIVES = {"новый", "старый", "мощный", "компактный", "лёгкий", "большой",
+            "аккумуляторный", "профессиональный", "детский", "складной"};
+
+    private final int users;
+    private final int items;
+    private final int requests;
+    private final int bookings;
+    private final int comments;
+    private final double skew;
+    private final long seed;
+    private final Zipf owners;
+    private final Zipf popularItems;
+
+    Dataset(Options options) {
+        users = options.getInt("users", 50_000);
+        items = options.getInt("items", 200_000);
+        requests = options.getInt("requests", 20_000);
+        bookings = options.getInt("bookings", 1_000_000);
+        comments = options.getInt("comments", 100_000);
+        skew = options.getDouble("skew", 1.1);
+        seed = options.getInt("seed", 42);
+        owners = new Zipf(users, skew);
+        popularItems = new Zipf(items, skew);
+    }
+
+    int randomUser(Random random) {
+        return random.nextInt(users) + 1;
+    }
+
+    int hotOwner(Random random) {
+        return owners.next(random);
+    }
+
+    int popularItem(Random random) {
+        return popularItems.next(random);
+    }
+
+    static String randomNoun(Random random) {
+        return NOUNS[random.nextInt(NOUNS.length)];
+    }
+
+    static String randomAdjective(Random random) {
+        return ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+    }
+}
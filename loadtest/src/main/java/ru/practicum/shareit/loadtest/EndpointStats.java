@@ -0,0 +1,40 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Задержки одного эндпоинта в микросекундах и счётчики ответов по классам статусов.
+ */
+@Getter
+class EndpointStats {
+    private final String name;
+    private final Histogram histogram = new ConcurrentHistogram(3);
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long latencyNanos, HttpResponse<?> response, Throwable error) {
+        histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        if (error != null) {
+            failures.increment();
+        } else if (response.statusCode() >= 500) {
+            serverErrors.increment();
+        } else if (response.statusCode() >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+}
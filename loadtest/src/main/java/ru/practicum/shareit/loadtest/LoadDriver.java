@@ -0,0 +1,70 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Открытая модель нагрузки: запросы отправляются по расписанию с частотой rps, не дожидаясь ответов
+ * на предыдущие. Задержка отсчитывается от запланированного момента отправки, поэтому отставание
+ * самого генератора тоже попадает в гистограмму (без coordinated omission).
+ */
+@RequiredArgsConstructor
+class LoadDriver {
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final int rps;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final long seed;
+
+    Map<String, EndpointStats> run() throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        scenario.getEndpoints().forEach(endpoint -> stats.put(endpoint.getName(), new EndpointStats(endpoint.getName())));
+        Random random = new Random(seed);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long period = TimeUnit.SECONDS.toNanos(1) / rps;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        for (long intended = start; intended < end; intended += period) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Scenario.Endpoint endpoint = scenario.next(random);
+            EndpointStats endpointStats = stats.get(endpoint.getName());
+            boolean measured = intended >= measureFrom;
+            // при перегрузке не копим бесконечную очередь в клиенте, а считаем такие запросы отброшенными
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    endpointStats.getDropped().increment();
+                }
+                continue;
+            }
+            HttpRequest request = endpoint.getRequest().apply(random);
+            long scheduledAt = intended;
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        if (measured) {
+                            endpointStats.record(System.nanoTime() - scheduledAt, response, error);
+                        }
+                        inFlight.release();
+                    });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            System.out.println("Не все ответы получены за минуту после окончания теста");
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Нагрузочный стенд.
+ * <pre>
+ * seed - пересоздать схему и заполнить БД (сервер должен быть остановлен или запущен с профилем load):
+ *   java -jar loadtest/target/loadtest.jar seed [--db-url=...] [--bookings=1000000] ...
+ * run - нагрузить gateway:
+ *   java -jar loadtest/target/loadtest.jar run [--gateway=http://localhost:8080] [--rps=200] [--duration=60s]
+ * </pre>
+ * Параметры масштаба (users, items, requests, bookings, comments, skew, seed) у обеих команд должны совпадать.
+ */
+public class LoadTestApplication {
+    private static final String DEFAULT_DB_URL =
+            "jdbc:h2:file:" + System.getProperty("java.io.tmpdir") + "/shareit-load;AUTO_SERVER=TRUE";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.out.println("Использование: seed | run [--name=value ...], подробности в README");
+            System.exit(1);
+        }
+        Options options = new Options(Arrays.copyOfRange(args, 1, args.length));
+        Dataset dataset = new Dataset(options);
+        if (args[0].equals("seed")) {
+            new DataSeeder(dataset,
+                    options.get("db-url", DEFAULT_DB_URL),
+                    options.get("db-user", "test"),
+                    options.get("db-password", "test")).seed();
+        } else {
+            run(options, dataset);
+        }
+    }
+
+    private static void run(Options options, Dataset dataset) throws Exception {
+        Duration duration = options.getDuration("duration", Duration.ofSeconds(60));
+        ExecutorService executor = Executors.newFixedThreadPool(options.getInt("threads", 4));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        LoadDriver driver = new LoadDriver(
+                new Scenario(options.get("gateway", "http://localhost:8080"), dataset),
+                client,
+                options.getInt("rps", 200),
+                options.getDuration("warmup", Duration.ofSeconds(10)),
+                duration,
+                options.getInt("max-in-flight", 1_000),
+                dataset.getSeed());
+        try {
+            Map<String, EndpointStats> stats = driver.run();
+            Report.print(stats.values(), duration, System.out);
+            String histograms = options.get("hgrm-dir", null);
+            if (histograms != null) {
+                Report.writeHistograms(stats.values(), Path.of(histograms));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.experimental.UtilityClass;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+
+@UtilityClass
+class Report {
+    private static final double MICROS_IN_MILLI = 1000.0;
+
+    void print(Collection<EndpointStats> stats, Duration duration, PrintStream out) {
+        out.printf("%-20s %9s %8s %7s %7s %7s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "rps",
+                "4xx", "5xx", "errors", "dropped", "p50, ms", "p90, ms", "p99, ms", "p99.9, ms", "max, ms");
+        Histogram total = new Histogram(3);
+        long clientErrors = 0;
+        long serverErrors = 0;
+        long failures = 0;
+        long dropped = 0;
+        for (EndpointStats endpoint : stats) {
+            total.add(endpoint.getHistogram());
+            clientErrors += endpoint.getClientErrors().sum();
+            serverErrors += endpoint.getServerErrors().sum();
+            failures += endpoint.getFailures().sum();
+            dropped += endpoint.getDropped().sum();
+            printRow(out, endpoint.getName(), endpoint.getHistogram(), duration, endpoint.getClientErrors().sum(),
+                    endpoint.getServerErrors().sum(), endpoint.getFailures().sum(), endpoint.getDropped().sum());
+        }
+        printRow(out, "ALL", total, duration, clientErrors, serverErrors, failures, dropped);
+    }
+
+    /**
+     * Пишет распределение задержек каждого эндпоинта в формате .hgrm - его строит HdrHistogram plotter.
+     */
+    void writeHistograms(Collection<EndpointStats> stats, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (EndpointStats endpoint : stats) {
+            String fileName = endpoint.getName().replaceAll("[^A-Za-z]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+            try (PrintStream out = new PrintStream(directory.resolve(fileName).toFile())) {
+                endpoint.getHistogram().outputPercentileDistribution(out, MICROS_IN_MILLI);
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, Duration duration,
+                          long clientErrors, long serverErrors, long failures, long dropped) {
+        long count = histogram.getTotalCount();
+        out.printf(Locale.ROOT, "%-20s %9d %8.1f %7d %7d %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", name, count,
+                count / (double) duration.toSeconds(), clientErrors, serverErrors, failures, dropped,
+                millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                histogram.getMaxValue() / MICROS_IN_MILLI);
+    }
+
+    private double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_IN_MILLI;
+    }
+}
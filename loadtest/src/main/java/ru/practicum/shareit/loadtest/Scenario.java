@@ -0,0 +1,100 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Смесь запросов к gateway. Вес - доля запросов эндпоинта в процентах; пользователи и вещи
+ * выбираются с тем же перекосом, что и при заполнении данных.
+ */
+class Scenario {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String[] BOOKING_STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Getter
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final String gatewayUrl;
+    private final Dataset dataset;
+    private int totalWeight;
+
+    Scenario(String gatewayUrl, Dataset dataset) {
+        this.gatewayUrl = gatewayUrl;
+        this.dataset = dataset;
+        add("GET /items/{id}", 30, random -> get("/items/" + dataset.popularItem(random),
+                dataset.randomUser(random)));
+        add("GET /items", 10, random -> get("/items?from=0&size=20", dataset.hotOwner(random)));
+        add("GET /items/search", 15, random -> get("/items/search?from=0&size=20&text="
+                + URLEncoder.encode(Dataset.randomNoun(random), StandardCharsets.UTF_8), dataset.randomUser(random)));
+        add("GET /bookings", 10, random -> get("/bookings?from=0&size=20&state=" + randomState(random),
+                dataset.randomUser(random)));
+        add("GET /bookings/owner", 10, random -> get("/bookings/owner?from=0&size=20&state=" + randomState(random),
+                dataset.hotOwner(random)));
+        add("GET /requests", 5, random -> get("/requests", dataset.randomUser(random)));
+        add("GET /requests/all", 5, random -> get("/requests/all?from=0&size=20", dataset.randomUser(random)));
+        add("GET /users/{id}", 5, random -> get("/users/" + dataset.randomUser(random), dataset.randomUser(random)));
+        add("POST /bookings", 10, this::createBooking);
+    }
+
+    Endpoint next(Random random) {
+        int point = random.nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints) {
+            point -= endpoint.weight;
+            if (point < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Сумма весов посчитана неверно");
+    }
+
+    private void add(String name, int weight, Function<Random, HttpRequest> request) {
+        endpoints.add(new Endpoint(name, weight, request));
+        totalWeight += weight;
+    }
+
+    private HttpRequest createBooking(Random random) {
+        // брони далеко в будущем: новые WAITING-брони почти не пересекаются с уже подтверждёнными
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS)
+                .plusDays(365 + random.nextInt(365 * 5));
+        String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                dataset.popularItem(random), start, start.plusDays(1 + random.nextInt(3)));
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + "/bookings"))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, String.valueOf(dataset.randomUser(random)))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest get(String path, int userId) {
+        return HttpRequest.newBuilder(URI.create(gatewayUrl + path))
+                .timeout(TIMEOUT)
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private static String randomState(Random random) {
+        return BOOKING_STATES[random.nextInt(BOOKING_STATES.length)];
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Function<Random, HttpRequest> request;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Распределение Ципфа на 1..n: значение k выпадает с вероятностью, пропорциональной 1 / k^skew.
+ * Малые id - «горячие» владельцы и популярные вещи.
+ */
+class Zipf {
+    private final double[] cumulative;
+
+    Zipf(int n, double skew) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 1; k <= n; k++) {
+            sum += 1 / Math.pow(k, skew);
+            cumulative[k - 1] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        int index = position >= 0 ? position : -position - 1;
+        return Math.min(index, cumulative.length - 1) + 1;
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingPageResponse;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateDto;
@@ -20,6 +23,7 @@ public class BookingController {
 
     private final BookingService bookingService;
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     @PostMapping
     public BookingResponse createBooking(@RequestBody @Valid BookingRequest dto,
@@ -37,23 +41,47 @@ public class BookingController {
 
     @GetMapping("/{bookingId}")
     public BookingResponse getBookingById(@PathVariable("bookingId") Integer bookingId,
-                                          @RequestHeader(USER_ID_HEADER) Integer userId) {
+                                          @RequestHeader(USER_ID_HEADER) Integer userId,
+                                          WebRequest request) {
+        String eTag = bookingService.getBookingETag(bookingId, userId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return bookingService.getBookingById(bookingId, userId);
     }
 
     @GetMapping
-    public List<BookingResponse> getBookingsOfUser(@RequestHeader(USER_ID_HEADER) Integer bookerId,
-                                                   @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
-                                                   @RequestParam(value = "from", defaultValue = "0", required = false) @Min(0) @PositiveOrZero int from,
-                                                   @RequestParam(value = "size", defaultValue = "10", required = false) @Min(1) @Max(100) @PositiveOrZero int size) {
-        return bookingService.getAllBookingsOfUser(bookerId, BookingStateDto.fromString(state), from, size);
+    public ResponseEntity<List<BookingResponse>> getBookingsOfUser(@RequestHeader(USER_ID_HEADER) Integer bookerId,
+                                                                   @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
+                                                                   @RequestParam(value = "from", defaultValue = "0", required = false) @Min(0) @PositiveOrZero int from,
+                                                                   @RequestParam(value = "size", defaultValue = "10", required = false) @Min(1) @Max(100) @PositiveOrZero int size,
+                                                                   @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return toPageResponse(bookingService.getBookingsOfUserAfter(bookerId, BookingStateDto.fromString(state), cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getAllBookingsOfUser(bookerId, BookingStateDto.fromString(state), from, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponse> getBookingsOfOwner(@RequestHeader(USER_ID_HEADER) Integer ownerId,
-                                                    @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
-                                                    @RequestParam(value = "from", defaultValue = "0", required = false) @Min(0) @PositiveOrZero int from,
-                                                    @RequestParam(value = "size", defaultValue = "10", required = false) @Min(1) @Max(100) @PositiveOrZero int size) {
-        return bookingService.getAllBookingsOfOwner(ownerId, BookingStateDto.fromString(state), from, size);
+    public ResponseEntity<List<BookingResponse>> getBookingsOfOwner(@RequestHeader(USER_ID_HEADER) Integer ownerId,
+                                                                    @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
+                                                                    @RequestParam(value = "from", defaultValue = "0", required = false) @Min(0) @PositiveOrZero int from,
+                                                                    @RequestParam(value = "size", defaultValue = "10", required = false) @Min(1) @Max(100) @PositiveOrZero int size,
+                                                                    @RequestParam(value = "cursor", required = false) String cursor) {
+        if (cursor != null) {
+            return toPageResponse(bookingService.getBookingsOfOwnerAfter(ownerId, BookingStateDto.fromString(state), cursor, size));
+        }
+        return ResponseEntity.ok(bookingService.getAllBookingsOfOwner(ownerId, BookingStateDto.fromString(state), from, size));
+    }
+
+    /**
+     * Курсорный режим: тело - та же страница, курсор следующей страницы - в заголовке.
+     */
+    private ResponseEntity<List<BookingResponse>> toPageResponse(BookingPageResponse page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookingPageResponse {
+    private List<BookingResponse> bookings;
+    /**
+     * Курсор следующей страницы, null - если страница последняя.
+     */
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -8,6 +9,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Builder
+@AllArgsConstructor
 public class BookingResponse {
     private Integer id;
     private LocalDateTime start;
@@ -15,4 +17,12 @@ public class BookingResponse {
     private BookingStatus status;
     private BookerResponse booker;
     private ItemBookingResponse item;
+
+    /**
+     * Для constructor expression в запросах списков бронирований.
+     */
+    public BookingResponse(Integer id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                           Integer bookerId, Integer itemId, String itemName) {
+        this(id, start, end, status, new BookerResponse(bookerId), new ItemBookingResponse(itemId, itemName));
+    }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.dto;
+
+public interface BookingVersionView {
+    Long getVersion();
+
+    Long getItemVersion();
+
+    Integer getBookerId();
+
+    Integer getOwnerId();
+}
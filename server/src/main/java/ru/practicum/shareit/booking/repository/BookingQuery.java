@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingStateDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Параметры выборки списка бронирований. Если задан {@code after}, страница строится
+ * по курсору, иначе пропускаются первые {@code offset} записей.
+ */
+@Value
+@Builder
+public class BookingQuery {
+    Role role;
+    Integer userId;
+    BookingStateDto state;
+    LocalDateTime now;
+    BookingCursor after;
+    int offset;
+    int limit;
+
+    public enum Role {
+        BOOKER,
+        OWNER
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.util.List;
+
+public interface BookingQueryRepository {
+    /**
+     * Бронирования пользователя в порядке (start desc, id desc) вместе с id бронирующего
+     * и id и названием вещи - одним запросом, без загрузки сущностей.
+     */
+    List<BookingResponse> findBookings(BookingQuery query);
+}
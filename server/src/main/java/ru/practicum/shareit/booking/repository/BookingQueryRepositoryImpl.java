@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponse> findBookings(BookingQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingResponse> cq = cb.createQuery(BookingResponse.class);
+        Root<Booking> booking = cq.from(Booking.class);
+        // booker.id и item.owner.id берутся из внешних ключей, таблица users в запрос не попадает
+        Join<Booking, Item> item = booking.join("item");
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Integer> id = booking.get("id");
+
+        // числа в Criteria по умолчанию подставляются в SQL литералами, поэтому id передаём параметрами:
+        // текст запроса не зависит от пользователя и план переиспользуется
+        ParameterExpression<Integer> userId = cb.parameter(Integer.class);
+        List<Predicate> where = new ArrayList<>();
+        if (query.getRole() == BookingQuery.Role.OWNER) {
+            where.add(cb.equal(item.get("owner").get("id"), userId));
+        } else {
+            where.add(cb.equal(booking.get("booker").get("id"), userId));
+        }
+        LocalDateTime now = query.getNow();
+        switch (query.getState()) {
+            case ALL:
+                break;
+            case CURRENT:
+                where.add(cb.lessThan(start, now));
+                where.add(cb.greaterThan(end, now));
+                break;
+            case PAST:
+                where.add(cb.lessThan(end, now));
+                break;
+            case FUTURE:
+                where.add(cb.greaterThan(start, now));
+                break;
+            case WAITING:
+                where.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+                break;
+            case REJECTED:
+                where.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+                break;
+            default:
+                String msg = String.format("Unknown state: %s", query.getState());
+                throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
+        }
+        BookingCursor after = query.getAfter();
+        ParameterExpression<Integer> afterId = cb.parameter(Integer.class);
+        if (after != null) {
+            // start <= :start даёт индексу границу диапазона, вторая часть отсекает уже отданные записи
+            where.add(cb.lessThanOrEqualTo(start, after.getStart()));
+            where.add(cb.or(cb.lessThan(start, after.getStart()), cb.lessThan(id, afterId)));
+        }
+
+        cq.select(cb.construct(BookingResponse.class,
+                        id, start, end, booking.get("status"),
+                        booking.get("booker").get("id"), item.get("id"), item.get("name")))
+                .where(where.toArray(new Predicate[0]))
+                .orderBy(cb.desc(start), cb.desc(id));
+        TypedQuery<BookingResponse> typedQuery = entityManager.createQuery(cq)
+                .setParameter(userId, query.getUserId());
+        if (after != null) {
+            typedQuery.setParameter(afterId, after.getId());
+        }
+        return typedQuery
+                .setFirstResult(after == null ? query.getOffset() : 0)
+                .setMaxResults(query.getLimit())
+                .getResultList();
+    }
+}
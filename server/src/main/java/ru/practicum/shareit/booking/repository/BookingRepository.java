@@ -4,34 +4,77 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingVersionView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.BookingIntervalView;
+import ru.practicum.shareit.item.dto.ItemBookingView;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Integer> {
+public interface BookingRepository extends JpaRepository<Booking, Integer>, BookingQueryRepository {
     @Query("select b from Booking b join fetch b.booker bkr join fetch b.item i where b.id =:bookingId")
     Optional<Booking> findBookingByIdItemFetched(@Param("bookingId") Integer bookingId);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(Integer bookerId, Pageable pageable);
+    /**
+     * Версии бронирования и его вещи (в ответе есть название вещи) и кому бронирование видно.
+     */
+    @Query(" select b.version as version, i.version as itemVersion, " +
+            "       b.booker.id as bookerId, i.owner.id as ownerId " +
+            "  from Booking b join b.item i " +
+            " where b.id = :bookingId")
+    Optional<BookingVersionView> findVersionById(@Param("bookingId") Integer bookingId);
 
-    List<Booking> findAllByItemOwnerIdOrderByStartDesc(Integer bookerId, Pageable pageable);
+    @Query(" select b.id as id, b.item.id as itemId, b.start as start, b.end as end " +
+            "  from Booking b " +
+            " where b.id > :afterId " +
+            "   and b.status in :statuses " +
+            "   and b.end > :now " +
+            " order by b.id")
+    List<BookingIntervalView> findIntervalsAfter(@Param("afterId") Integer afterId,
+                                                 @Param("statuses") Collection<BookingStatus> statuses,
+                                                 @Param("now") LocalDateTime now,
+                                                 Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatusOrderByStartDesc(Integer bookerId, BookingStatus status, Pageable pageable);
+    @Query("select count(b) > 0 from Booking b " +
+            " where b.item.id = :itemId " +
+            "   and b.status = :status " +
+            "   and (:excludeId is null or b.id <> :excludeId) " +
+            "   and b.start < :end and b.end > :start")
+    boolean existsOverlapping(@Param("itemId") Integer itemId, @Param("status") BookingStatus status,
+                              @Param("start") LocalDateTime start, @Param("end") LocalDateTime end,
+                              @Param("excludeId") Integer excludeId);
 
-    List<Booking> findAllByBookerIdAndStartAfterOrderByStartDesc(Integer bookerId, LocalDateTime start, Pageable pageable);
+    /**
+     * Для каждой вещи из списка - последнее подтверждённое бронирование, начавшееся до {@code now}.
+     */
+    @Query(value = "select b.item_id as \"itemId\", b.id as id, b.booker_id as \"bookerId\" " +
+            "  from (select bk.item_id, bk.id, bk.booker_id, " +
+            "               row_number() over (partition by bk.item_id order by bk.start_date desc) as rn " +
+            "          from bookings bk " +
+            "         where bk.item_id in (:itemIds) " +
+            "           and bk.status = 'APPROVED' " +
+            "           and (bk.end_date < :now or (bk.end_date > :now and bk.start_date < :now))) b " +
+            " where b.rn = 1",
+            nativeQuery = true)
+    List<ItemBookingView> findLastBookingsOfItems(@Param("itemIds") Collection<Integer> itemIds,
+                                                  @Param("now") LocalDateTime now);
 
-    List<Booking> findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(Integer bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStatusOrderByStartDesc(Integer ownerId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartAfterOrderByStartDesc(Integer ownerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(Integer ownerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBeforeOrderByStartDesc(Integer bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(Integer ownerId, LocalDateTime end, Pageable pageable);
+    /**
+     * Для каждой вещи из списка - ближайшее ожидающее или подтверждённое бронирование после {@code now}.
+     */
+    @Query(value = "select b.item_id as \"itemId\", b.id as id, b.booker_id as \"bookerId\" " +
+            "  from (select bk.item_id, bk.id, bk.booker_id, " +
+            "               row_number() over (partition by bk.item_id order by bk.start_date) as rn " +
+            "          from bookings bk " +
+            "         where bk.item_id in (:itemIds) " +
+            "           and bk.status in ('WAITING', 'APPROVED') " +
+            "           and bk.start_date > :now) b " +
+            " where b.rn = 1",
+            nativeQuery = true)
+    List<ItemBookingView> findNextBookingsOfItems(@Param("itemIds") Collection<Integer> itemIds,
+                                                  @Param("now") LocalDateTime now);
 }
@@ -14,4 +14,6 @@ public interface BookingDataValidator {
     void throwIfBookerIsItemOwner(Integer userId, Booking booking);
 
     void throwIfBookingAlreadyApproved(Integer ownerId, Booking booking);
+
+    void throwIfOverlapsApproved(Booking booking);
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -16,6 +17,7 @@ import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
 public class BookingDataValidatorImpl implements BookingDataValidator {
 
     private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
 
     @Override
     public void throwIfNotOwnerOfBooking(Integer ownerId, Integer bookingId, Booking booking) {
@@ -64,4 +66,13 @@ public class BookingDataValidatorImpl implements BookingDataValidator {
             throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Override
+    public void throwIfOverlapsApproved(Booking booking) {
+        if (bookingRepository.existsOverlapping(booking.getItem().getId(), APPROVED,
+                booking.getStart(), booking.getEnd(), booking.getId())) {
+            String msg = String.format("Вещь ID=%d уже забронирована на это время", booking.getItem().getId());
+            throw new ValidationException(msg, HttpStatus.CONFLICT);
+        }
+    }
 }
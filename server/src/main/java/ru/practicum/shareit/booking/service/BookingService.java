@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingPageResponse;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateDto;
@@ -13,7 +14,16 @@ public interface BookingService {
 
     BookingResponse getBookingById(Integer bookingId, Integer userId);
 
+    /**
+     * ETag бронирования или null, если бронирования нет или оно пользователю недоступно.
+     */
+    String getBookingETag(Integer bookingId, Integer userId);
+
     List<BookingResponse> getAllBookingsOfUser(Integer bookerId, BookingStateDto state, int from, int size);
 
     List<BookingResponse> getAllBookingsOfOwner(Integer ownerId, BookingStateDto state, int from, int size);
+
+    BookingPageResponse getBookingsOfUserAfter(Integer bookerId, BookingStateDto state, String cursor, int size);
+
+    BookingPageResponse getBookingsOfOwnerAfter(Integer ownerId, BookingStateDto state, String cursor, int size);
 }
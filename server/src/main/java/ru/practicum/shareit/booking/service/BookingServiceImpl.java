@@ -1,36 +1,44 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingPageResponse;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingQuery;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.model.BookingStatus.*;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final String APPROVED_PERIOD_CONSTRAINT = "ex_bookings_item_approved_period";
+
     private final BookingRepository bookingRepository;
     private final BookingDataValidator bookingDataValidator;
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final ItemAvailabilityService itemAvailabilityService;
 
     @Override
     public BookingResponse createBooking(BookingRequest dto) {
@@ -52,22 +60,40 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = BookingMapper.mapToDomain(dto, booker, item);
         bookingDataValidator.throwIfItemNotAvailable(dto.getItemId(), booking);
         bookingDataValidator.throwIfBookerIsItemOwner(dto.getBookerId(), booking);
+        bookingDataValidator.throwIfOverlapsApproved(booking);
         Booking saved = bookingRepository.save(booking);
+        itemAvailabilityService.onBookingSaved(saved);
         return BookingMapper.mapToDto(saved);
     }
 
     @Override
+    @Transactional
     public BookingResponse updateApproved(Integer userId, Integer bookingId, boolean approved) {
+        if (approved) {
+            // бронирование читается уже под блокировкой вещи, иначе проверки ниже видят устаревший статус
+            lockItemOfBooking(bookingId);
+        }
         Booking booking = findBookingByIdOrThrow(bookingId);
         bookingDataValidator.throwIfNotOwnerOfBooking(userId, bookingId, booking);
         if (approved) {
             bookingDataValidator.throwIfBookingAlreadyApproved(userId, booking);
+            bookingDataValidator.throwIfOverlapsApproved(booking);
             booking.setStatus(APPROVED);
         } else {
             bookingDataValidator.throwIfBookingAlreadyRejected(userId, booking);
             booking.setStatus(REJECTED);
         }
-        bookingRepository.save(booking);
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            // в PostgreSQL пересечение дополнительно запрещено ограничением EXCLUDE
+            if (!isApprovedPeriodViolation(ex)) {
+                throw ex;
+            }
+            String msg = String.format("Вещь ID=%d уже забронирована на это время", booking.getItem().getId());
+            throw new ValidationException(msg, HttpStatus.CONFLICT);
+        }
+        itemAvailabilityService.onBookingSaved(booking);
         return BookingMapper.mapToDto(booking);
     }
 
@@ -84,87 +110,109 @@ public class BookingServiceImpl implements BookingService {
         }
     }
 
+    @Override
+    public String getBookingETag(Integer bookingId, Integer userId) {
+        return bookingRepository.findVersionById(bookingId)
+                .filter(view -> userId.equals(view.getBookerId()) || userId.equals(view.getOwnerId()))
+                .map(view -> view.getVersion() + "-" + view.getItemVersion())
+                .orElse(null);
+    }
+
     @Override
     public List<BookingResponse> getAllBookingsOfUser(Integer bookerId, BookingStateDto state, int from, int size) {
-        Pageable pageable = calculatePageable(from, size);
         bookingDataValidator.throwIfUserNotExists(bookerId);
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByBookerIdOrderByStartDesc(bookerId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId, now, now, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByBookerIdAndStartAfterOrderByStartDesc(bookerId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(bookerId, REJECTED, pageable);
-                break;
-            default:
-                String msg = String.format("Unknown state: %s", state);
-                throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
-        }
-        return convertResponse(bookings);
+        return bookingRepository.findBookings(pageQuery(BookingQuery.Role.BOOKER, bookerId, state, from, size));
     }
 
     @Override
     public List<BookingResponse> getAllBookingsOfOwner(Integer ownerId, BookingStateDto state, int from, int size) {
-        Pageable pageable = calculatePageable(from, size);
         bookingDataValidator.throwIfUserNotExists(ownerId);
-        List<Booking> bookings;
-        LocalDateTime now = LocalDateTime.now();
-        switch (state) {
-            case ALL:
-                bookings = bookingRepository.findAllByItemOwnerIdOrderByStartDesc(ownerId, pageable);
-                break;
-            case CURRENT:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now, now, pageable);
-                break;
-            case PAST:
-                bookings = bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now, pageable);
-                break;
-            case FUTURE:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now, pageable);
-                break;
-            case WAITING:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, WAITING, pageable);
-                break;
-            case REJECTED:
-                bookings = bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(ownerId, REJECTED, pageable);
-                break;
-            default:
-                String msg = String.format("Unknown state: %s", state);
-                throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
+        return bookingRepository.findBookings(pageQuery(BookingQuery.Role.OWNER, ownerId, state, from, size));
+    }
+
+    @Override
+    public BookingPageResponse getBookingsOfUserAfter(Integer bookerId, BookingStateDto state, String cursor, int size) {
+        BookingQuery query = cursorQuery(BookingQuery.Role.BOOKER, bookerId, state, cursor, size);
+        bookingDataValidator.throwIfUserNotExists(bookerId);
+        return convertPageResponse(bookingRepository.findBookings(query), size);
+    }
+
+    @Override
+    public BookingPageResponse getBookingsOfOwnerAfter(Integer ownerId, BookingStateDto state, String cursor, int size) {
+        BookingQuery query = cursorQuery(BookingQuery.Role.OWNER, ownerId, state, cursor, size);
+        bookingDataValidator.throwIfUserNotExists(ownerId);
+        return convertPageResponse(bookingRepository.findBookings(query), size);
+    }
+
+    /**
+     * Страница from/size считается так же, как раньше через PageRequest: from округляется вниз до кратного size.
+     */
+    private BookingQuery pageQuery(BookingQuery.Role role, Integer userId, BookingStateDto state, int from, int size) {
+        return queryBuilder(role, userId, state)
+                .offset(from / size * size)
+                .limit(size)
+                .build();
+    }
+
+    /**
+     * Из БД запрашивается на одну запись больше страницы: если она пришла, следующая страница есть.
+     */
+    private BookingQuery cursorQuery(BookingQuery.Role role, Integer userId, BookingStateDto state,
+                                     String cursor, int size) {
+        return queryBuilder(role, userId, state)
+                .after(BookingCursor.decode(cursor))
+                .limit(size + 1)
+                .build();
+    }
+
+    private BookingQuery.BookingQueryBuilder queryBuilder(BookingQuery.Role role, Integer userId,
+                                                          BookingStateDto state) {
+        if (state == BookingStateDto.UNKNOWN) {
+            String msg = String.format("Unknown state: %s", state);
+            throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
         }
-        return convertResponse(bookings);
+        return BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(LocalDateTime.now());
     }
 
-    private List<BookingResponse> convertResponse(List<Booking> bookings) {
-        return bookings.stream()
-                .map(BookingMapper::mapToDto)
-                .collect(Collectors.toList());
+    private BookingPageResponse convertPageResponse(List<BookingResponse> bookings, int size) {
+        boolean hasNext = bookings.size() > size;
+        List<BookingResponse> page = hasNext ? bookings.subList(0, size) : bookings;
+        return BookingPageResponse.builder()
+                .bookings(page)
+                .nextCursor(hasNext ? BookingCursor.of(page.get(size - 1)).encode() : null)
+                .build();
     }
 
-    private Booking findBookingByIdOrThrow(Integer bookingId) {
-        return bookingRepository.findBookingByIdItemFetched(bookingId)
+    private void lockItemOfBooking(Integer bookingId) {
+        itemRepository.findByBookingIdForUpdate(bookingId)
                 .orElseThrow(() -> {
                     String msg = String.format("Бронирование ID=%d не найдено", bookingId);
                     return new NotFoundException(msg, HttpStatus.NOT_FOUND);
                 });
     }
 
-    private Pageable calculatePageable(int id, int itemCount) {
-        int itemsPerPage = itemCount;
-        int pageNumber = (int) Math.floor((double) id / itemsPerPage);
-        return PageRequest.of(pageNumber, itemsPerPage);
+    private static boolean isApprovedPeriodViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(((SQLException) cause).getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(APPROVED_PERIOD_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Booking findBookingByIdOrThrow(Integer bookingId) {
+        return bookingRepository.findBookingByIdItemFetched(bookingId)
+                .orElseThrow(() -> {
+                    String msg = String.format("Бронирование ID=%d не найдено", bookingId);
+                    return new NotFoundException(msg, HttpStatus.NOT_FOUND);
+                });
     }
 }
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.util.OptionalLong;
+
+/**
+ * Кэш второго уровня Hibernate на Caffeine (JCache). Регионы создаются здесь с ограничением
+ * по числу записей; регион, которого нет в списке, Hibernate создать не даст (missing_cache_strategy=fail).
+ * <p>
+ * Метрики cache.gets{cache, result=hit|miss}, cache.puts, cache.evictions по каждому региону
+ * и shareit.hibernate-cache.hit-ratio{cache} - доля попаданий с момента старта.
+ */
+@Configuration
+@EnableConfigurationProperties(HibernateCacheProperties.class)
+public class HibernateCacheConfig {
+    public static final String USERS_REGION = "users";
+    public static final String ITEMS_REGION = "items";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        // свой менеджер на каждый контекст: в тестах в одной JVM поднимается несколько контекстов,
+        // а по URI менеджера регистрируются MBean статистики
+        CachingProvider provider = new CaffeineCachingProvider();
+        URI uri = URI.create("shareit:hibernate-cache:" + Integer.toHexString(System.identityHashCode(provider)));
+        CacheManager cacheManager = provider.getCacheManager(uri, getClass().getClassLoader());
+        cacheManager.createCache(USERS_REGION, region(properties.getUsersMaxSize()));
+        cacheManager.createCache(ITEMS_REGION, region(properties.getItemsMaxSize()));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(properties.getQueryResultsMaxSize()));
+        // метки времени изменения таблиц не вытесняются: без них кэш запросов отдал бы устаревший результат
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                region(null));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder hibernateCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = hibernateCacheManager.getCache(name);
+                new JCacheMetrics<>(cache, Tags.of("cache.manager", "hibernate")).bindTo(registry);
+                ObjectName statistics = statisticsName(hibernateCacheManager, name);
+                Gauge.builder("shareit.hibernate-cache.hit-ratio", statistics, HibernateCacheConfig::hitRatio)
+                        .description("Доля попаданий в регион кэша второго уровня")
+                        .tag("cache", name)
+                        .strongReference(true)
+                        .register(registry);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(Long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(maxSize == null ? OptionalLong.empty() : OptionalLong.of(maxSize));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    private static ObjectName statisticsName(CacheManager cacheManager, String cache) {
+        try {
+            return new ObjectName(String.format("javax.cache:type=CacheStatistics,CacheManager=%s,Cache=%s",
+                    sanitize(cacheManager.getURI().toString()), sanitize(cache)));
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double hitRatio(ObjectName statistics) {
+        try {
+            Object percentage = ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(statistics, "CacheHitPercentage");
+            return ((Number) percentage).doubleValue() / 100;
+        } catch (JMException e) {
+            return Double.NaN;
+        }
+    }
+
+    // так же экранирует имена MBean и сама JCache-реализация
+    private static String sanitize(String name) {
+        return name.replaceAll(",|:|=|\n", ".");
+    }
+}
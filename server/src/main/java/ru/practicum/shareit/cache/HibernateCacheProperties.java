@@ -0,0 +1,18 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Размеры регионов кэша второго уровня Hibernate, в записях.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.hibernate-cache")
+public class HibernateCacheProperties {
+    private long usersMaxSize = 10_000;
+    private long itemsMaxSize = 50_000;
+    /**
+     * Результаты кэшируемых запросов, например проверки существования пользователя.
+     */
+    private long queryResultsMaxSize = 10_000;
+}
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item;
 
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
@@ -12,6 +16,7 @@ import javax.validation.Valid;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -22,6 +27,7 @@ public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemService itemService;
     private final CommentService commentService;
+    private final ItemAvailabilityService itemAvailabilityService;
 
     @PostMapping
     public ItemDto create(@RequestHeader(name = USER_ID_HEADER, required = true) int userId,
@@ -29,6 +35,12 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<ItemDto> createAll(@RequestHeader(name = USER_ID_HEADER, required = true) int userId,
+                                   @RequestBody List<ItemDto> itemDtos) {
+        return itemService.createAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader(name = USER_ID_HEADER, required = true) int userId,
                           @PathVariable("itemId") int itemId,
@@ -38,7 +50,12 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemDto getItemById(@RequestHeader(name = USER_ID_HEADER, required = true) int userId,
-                               @PathVariable("itemId") int itemId) {
+                               @PathVariable("itemId") int itemId,
+                               WebRequest request) {
+        String eTag = itemService.getItemETag(userId, itemId);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return itemService.getItemById(userId, itemId);
     }
 
@@ -56,6 +73,13 @@ public class ItemController {
         return itemService.search(text, from, size);
     }
 
+    @GetMapping("/availability")
+    public List<ItemAvailabilityDto> getAvailability(@RequestParam("itemIds") List<Integer> itemIds,
+                                                     @RequestParam("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                     @RequestParam("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return itemAvailabilityService.getAvailability(itemIds, start, end);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentResponse postComment(@PathVariable("itemId") Integer itemId,
                                        @RequestHeader(USER_ID_HEADER) Integer userId,
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.availability;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Интервалы ожидающих и подтверждённых бронирований по id вещи и признак доступности каждой
+ * известной вещи. Чтение идёт без блокировок по неизменяемому снимку интервалов вещи, запись
+ * заменяет снимок атомарно и заодно выбрасывает уже закончившиеся интервалы этой вещи.
+ */
+public class ItemAvailabilityIndex {
+    private final Map<Integer, ItemIntervals> intervals = new ConcurrentHashMap<>();
+    private final Map<Integer, Boolean> items = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public ItemAvailabilityIndex() {
+        this(Clock.systemDefaultZone());
+    }
+
+    ItemAvailabilityIndex(Clock clock) {
+        this.clock = clock;
+    }
+
+    public void putItem(int itemId, boolean available) {
+        items.put(itemId, available);
+    }
+
+    public void put(int itemId, int bookingId, LocalDateTime start, LocalDateTime end) {
+        long now = now();
+        if (toSeconds(end) <= now) {
+            remove(itemId, bookingId);
+            return;
+        }
+        intervals.compute(itemId, (id, current) -> (current == null ? ItemIntervals.EMPTY : current.withoutEndedBy(now))
+                .with(bookingId, toSeconds(start), toSeconds(end)));
+    }
+
+    public void remove(int itemId, int bookingId) {
+        long now = now();
+        intervals.computeIfPresent(itemId, (id, current) -> nullIfEmpty(current.without(bookingId).withoutEndedBy(now)));
+    }
+
+    /**
+     * Неизвестная индексу или недоступная для аренды вещь не свободна.
+     */
+    public boolean isFree(int itemId, LocalDateTime start, LocalDateTime end) {
+        if (!items.getOrDefault(itemId, false)) {
+            return false;
+        }
+        ItemIntervals itemIntervals = intervals.get(itemId);
+        return itemIntervals == null || itemIntervals.isFree(toSeconds(start), toSeconds(end));
+    }
+
+    /**
+     * Выбрасывает закончившиеся интервалы у всех вещей, в том числе у тех, что давно не бронировали.
+     */
+    public void prune() {
+        long now = now();
+        for (Integer itemId : intervals.keySet()) {
+            intervals.computeIfPresent(itemId, (id, current) -> nullIfEmpty(current.withoutEndedBy(now)));
+        }
+    }
+
+    public int items() {
+        return items.size();
+    }
+
+    public int bookedItems() {
+        return intervals.size();
+    }
+
+    public long bookings() {
+        return intervals.values().stream().mapToLong(ItemIntervals::size).sum();
+    }
+
+    public long estimatedBytes() {
+        return intervals.values().stream().mapToLong(ItemIntervals::estimatedBytes).sum();
+    }
+
+    private long now() {
+        return toSeconds(LocalDateTime.now(clock));
+    }
+
+    private static ItemIntervals nullIfEmpty(ItemIntervals itemIntervals) {
+        return itemIntervals.size() == 0 ? null : itemIntervals;
+    }
+
+    private static long toSeconds(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.availability;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ItemAvailabilityService {
+    List<ItemAvailabilityDto> getAvailability(List<Integer> itemIds, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Вызывается после сохранения бронирования: ожидающие и подтверждённые занимают вещь,
+     * остальные освобождают. Внутри транзакции индекс меняется только после её фиксации.
+     */
+    void onBookingSaved(Booking booking);
+
+    /**
+     * Вызывается после создания и изменения вещи: недоступная для аренды вещь всегда занята.
+     * Внутри транзакции индекс меняется только после её фиксации.
+     */
+    void onItemSaved(Item item);
+}
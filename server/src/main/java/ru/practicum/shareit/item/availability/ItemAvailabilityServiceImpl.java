@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.BookingIntervalView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemStatusView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Проверка занятости вещей без обращения к БД. Индекс строится из вещей и ещё не закончившихся
+ * бронирований при старте, обновляется сервисами вещей и бронирований после фиксации транзакции
+ * и периодически очищается от закончившихся интервалов.
+ * <p>
+ * Индекс строится отдельно и подменяется целиком, до запуска веб-сервера: запросы не видят его
+ * пустым, а изменения бронирований не приходят во время построения и не перетираются старыми данными.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemAvailabilityServiceImpl implements ItemAvailabilityService, InfoContributor,
+        SmartInitializingSingleton {
+    public static final int MAX_ITEMS_PER_REQUEST = 1000;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private volatile ItemAvailabilityIndex index = new ItemAvailabilityIndex();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    void rebuild() {
+        ItemAvailabilityIndex built = new ItemAvailabilityIndex();
+        int lastItemId = 0;
+        List<ItemStatusView> items;
+        do {
+            items = itemRepository.findStatusViewsAfter(lastItemId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (ItemStatusView view : items) {
+                built.putItem(view.getId(), view.getAvailable());
+                lastItemId = view.getId();
+            }
+        } while (items.size() == REBUILD_BATCH_SIZE);
+        LocalDateTime now = LocalDateTime.now();
+        int lastId = 0;
+        List<BookingIntervalView> batch;
+        do {
+            batch = bookingRepository.findIntervalsAfter(lastId, BLOCKING_STATUSES, now,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (BookingIntervalView view : batch) {
+                built.put(view.getItemId(), view.getId(), view.getStart(), view.getEnd());
+                lastId = view.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        index = built;
+        log.info("Item availability index built: {} items, {} of them booked, {} bookings, ~{} bytes",
+                built.items(), built.bookedItems(), built.bookings(), built.estimatedBytes());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-availability.prune-interval:PT1H}",
+            initialDelayString = "${shareit.item-availability.prune-interval:PT1H}")
+    public void prune() {
+        index.prune();
+    }
+
+    @Override
+    public List<ItemAvailabilityDto> getAvailability(List<Integer> itemIds, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new ValidationException("Начало периода должно быть раньше конца", HttpStatus.BAD_REQUEST);
+        }
+        if (itemIds.size() > MAX_ITEMS_PER_REQUEST) {
+            String msg = String.format("Не больше %d вещей за запрос", MAX_ITEMS_PER_REQUEST);
+            throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
+        }
+        return itemIds.stream()
+                .distinct()
+                .map(id -> new ItemAvailabilityDto(id, index.isFree(id, start, end)))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void onBookingSaved(Booking booking) {
+        Integer itemId = booking.getItem().getId();
+        Integer bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+        if (BLOCKING_STATUSES.contains(booking.getStatus())) {
+            afterCommit(() -> index.put(itemId, bookingId, start, end));
+        } else {
+            afterCommit(() -> index.remove(itemId, bookingId));
+        }
+    }
+
+    @Override
+    public void onItemSaved(Item item) {
+        Integer itemId = item.getId();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        afterCommit(() -> index.putItem(itemId, available));
+    }
+
+    // при откате транзакции в индексе не должно остаться несуществующих бронирований
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        ItemAvailabilityIndex current = index;
+        builder.withDetail("itemAvailabilityIndex", Map.of(
+                "items", current.items(),
+                "bookedItems", current.bookedItems(),
+                "bookings", current.bookings(),
+                "estimatedBytes", current.estimatedBytes()));
+    }
+}
@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.availability;
+
+import java.util.Arrays;
+
+/**
+ * Неизменяемый набор интервалов бронирований одной вещи, отсортированный по началу.
+ * maxEnds[i] - наибольший конец среди интервалов 0..i, поэтому проверка свободного
+ * окна - это один двоичный поиск. Изменения возвращают новый экземпляр.
+ */
+final class ItemIntervals {
+    static final ItemIntervals EMPTY = new ItemIntervals(new int[0], new long[0], new long[0]);
+
+    private final int[] bookingIds;
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private ItemIntervals(int[] bookingIds, long[] starts, long[] ends) {
+        this.bookingIds = bookingIds;
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = new long[ends.length];
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+
+    int size() {
+        return bookingIds.length;
+    }
+
+    /**
+     * Свободен ли полуинтервал [from, to): ни один интервал не начинается раньше to
+     * и не заканчивается позже from.
+     */
+    boolean isFree(long from, long to) {
+        int startedBefore = lowerBound(starts, to);
+        return startedBefore == 0 || maxEnds[startedBefore - 1] <= from;
+    }
+
+    ItemIntervals with(int bookingId, long start, long end) {
+        ItemIntervals base = without(bookingId);
+        int size = base.size();
+        int position = lowerBound(base.starts, start);
+        int[] newIds = new int[size + 1];
+        long[] newStarts = new long[size + 1];
+        long[] newEnds = new long[size + 1];
+        insert(base.bookingIds, newIds, position, bookingId);
+        insert(base.starts, newStarts, position, start);
+        insert(base.ends, newEnds, position, end);
+        return new ItemIntervals(newIds, newStarts, newEnds);
+    }
+
+    ItemIntervals without(int bookingId) {
+        int position = -1;
+        for (int i = 0; i < bookingIds.length; i++) {
+            if (bookingIds[i] == bookingId) {
+                position = i;
+                break;
+            }
+        }
+        if (position < 0) {
+            return this;
+        }
+        return new ItemIntervals(remove(bookingIds, position), remove(starts, position), remove(ends, position));
+    }
+
+    /**
+     * Без интервалов, закончившихся не позже now: на свободное окно в будущем они не влияют.
+     */
+    ItemIntervals withoutEndedBy(long now) {
+        int kept = 0;
+        for (long end : ends) {
+            if (end > now) {
+                kept++;
+            }
+        }
+        if (kept == ends.length) {
+            return this;
+        }
+        int[] newIds = new int[kept];
+        long[] newStarts = new long[kept];
+        long[] newEnds = new long[kept];
+        int position = 0;
+        for (int i = 0; i < ends.length; i++) {
+            if (ends[i] > now) {
+                newIds[position] = bookingIds[i];
+                newStarts[position] = starts[i];
+                newEnds[position] = ends[i];
+                position++;
+            }
+        }
+        return new ItemIntervals(newIds, newStarts, newEnds);
+    }
+
+    long estimatedBytes() {
+        return (long) bookingIds.length * (Integer.BYTES + 3 * Long.BYTES);
+    }
+
+    private static int lowerBound(long[] values, long key) {
+        int low = 0;
+        int high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void insert(int[] source, int[] target, int position, int value) {
+        System.arraycopy(source, 0, target, 0, position);
+        target[position] = value;
+        System.arraycopy(source, position, target, position + 1, source.length - position);
+    }
+
+    private static void insert(long[] source, long[] target, int position, long value) {
+        System.arraycopy(source, 0, target, 0, position);
+        target[position] = value;
+        System.arraycopy(source, position, target, position + 1, source.length - position);
+    }
+
+    private static int[] remove(int[] source, int position) {
+        int[] result = Arrays.copyOf(source, source.length - 1);
+        System.arraycopy(source, position + 1, result, position, source.length - position - 1);
+        return result;
+    }
+
+    private static long[] remove(long[] source, int position) {
+        long[] result = Arrays.copyOf(source, source.length - 1);
+        System.arraycopy(source, position + 1, result, position, source.length - position - 1);
+        return result;
+    }
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemBookingView {
+    Integer getItemId();
+
+    Integer getId();
+
+    Integer getBookerId();
+}
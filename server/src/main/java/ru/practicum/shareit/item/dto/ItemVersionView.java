@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+public interface ItemVersionView {
+    Long getVersion();
+
+    Integer getOwnerId();
+
+    Long getComments();
+}
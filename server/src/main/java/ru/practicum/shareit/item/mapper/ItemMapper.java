@@ -1,11 +1,20 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.dto.BookingResponseDto;
+import ru.practicum.shareit.item.dto.ItemBookingView;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @UtilityClass
 public class ItemMapper {
 
@@ -20,6 +29,17 @@ public class ItemMapper {
                 .build();
     }
 
+    public ItemDto toItemDto(ItemSearchView view) {
+        return ItemDto.builder()
+                .ownerId(view.getOwnerId())
+                .name(view.getName())
+                .description(view.getDescription())
+                .id(view.getId())
+                .available(view.getAvailable())
+                .requestId(view.getRequestId())
+                .build();
+    }
+
     public Item toItem(ItemDto itemDto, User owner, ItemRequest itemRequest) {
         return Item.builder()
                 .id(itemDto.getId())
@@ -30,4 +50,32 @@ public class ItemMapper {
                 .request(itemRequest)
                 .build();
     }
+
+    public BookingResponseDto toBookingResponseDto(ItemBookingView view) {
+        return BookingResponseDto.builder()
+                .id(view.getId())
+                .bookerId(view.getBookerId())
+                .build();
+    }
+
+    /**
+     * Проставляет последнюю и следующую брони вещам страницы. На вещь - не больше одной брони каждого вида.
+     */
+    public void setBookings(List<ItemDto> dtos, Collection<ItemBookingView> last, Collection<ItemBookingView> next) {
+        Map<Integer, ItemBookingView> lastByItem = toItemIdMap(last);
+        Map<Integer, ItemBookingView> nextByItem = toItemIdMap(next);
+        for (ItemDto dto : dtos) {
+            if (lastByItem.containsKey(dto.getId())) {
+                dto.setLastBooking(toBookingResponseDto(lastByItem.get(dto.getId())));
+            }
+            if (nextByItem.containsKey(dto.getId())) {
+                dto.setNextBooking(toBookingResponseDto(nextByItem.get(dto.getId())));
+            }
+        }
+    }
+
+    private Map<Integer, ItemBookingView> toItemIdMap(Collection<ItemBookingView> views) {
+        return views.stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, Function.identity()));
+    }
 }
@@ -11,6 +11,6 @@ import java.util.Set;
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
     List<Comment> findAllByItem_Id(Integer itemId);
 
-    @Query("select c from Comment c join fetch c.item i where c.item.id in :itemIds")
+    @Query("select c from Comment c join fetch c.item i join fetch c.author a where i.id in :itemIds")
     List<Comment> findAllByItems(@Param("itemIds") Set<Integer> itemIds);
 }
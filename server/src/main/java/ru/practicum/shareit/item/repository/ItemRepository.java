@@ -2,26 +2,92 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.dto.ItemStatusView;
+import ru.practicum.shareit.item.dto.ItemVersionView;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
-    @Query(" select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "   or upper(i.description) like upper(concat('%', ?1, '%'))")
-    List<Item> search(String text, Pageable pageable);
+    @Query(" select i.id as id, i.owner.id as ownerId, i.name as name, i.description as description, " +
+            "       i.available as available, i.request.id as requestId " +
+            "  from Item i " +
+            " where i.available = true " +
+            "   and (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "        or upper(i.description) like upper(concat('%', ?1, '%'))) " +
+            " order by i.id")
+    List<ItemSearchView> search(String text, Pageable pageable);
+
+    @Query(value = "select i.id as id, i.owner_id as \"ownerId\", i.name as name, i.description as description, " +
+            "       i.is_available as available, i.request_id as \"requestId\" " +
+            "  from items i " +
+            " where i.is_available " +
+            "   and i.search_vector @@ to_tsquery('simple', :query) " +
+            " order by ts_rank(i.search_vector, to_tsquery('simple', :query)) desc, i.id",
+            nativeQuery = true)
+    List<ItemSearchView> searchFullText(@Param("query") String query, Pageable pageable);
+
+    @Query(value = "select i.id as id, i.owner_id as \"ownerId\", i.name as name, i.description as description, " +
+            "       i.is_available as available, i.request_id as \"requestId\" " +
+            "  from items i " +
+            " where i.is_available " +
+            "   and (i.name ilike :pattern or i.description ilike :pattern) " +
+            " order by greatest(word_similarity(:text, i.name), word_similarity(:text, i.description)) desc, i.id",
+            nativeQuery = true)
+    List<ItemSearchView> searchTrigram(@Param("text") String text, @Param("pattern") String pattern,
+                                       Pageable pageable);
+
+    @Query(" select i.id as id, i.owner.id as ownerId, i.name as name, i.description as description, " +
+            "       i.available as available, i.request.id as requestId " +
+            "  from Item i " +
+            " where i.id > :afterId " +
+            " order by i.id")
+    List<ItemSearchView> findSearchViewsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query(" select i.id as id, i.available as available " +
+            "  from Item i " +
+            " where i.id > :afterId " +
+            " order by i.id")
+    List<ItemStatusView> findStatusViewsAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Query(" select i.id as id, i.owner.id as ownerId, i.name as name, i.description as description, " +
+            "       i.available as available, i.request.id as requestId " +
+            "  from Item i " +
+            " where i.id in :ids " +
+            " order by i.id")
+    List<ItemSearchView> findSearchViewsByIds(@Param("ids") Collection<Integer> ids);
 
     List<Item> findAllByOwnerIdOrderByIdAsc(Integer id);
 
+    /**
+     * Блокирует строку вещи до конца транзакции: подтверждения бронирований одной вещи идут по очереди.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = (select b.item.id from Booking b where b.id = :bookingId)")
+    Optional<Item> findByBookingIdForUpdate(@Param("bookingId") Integer bookingId);
+
+    List<Item> findAllByOwnerIdOrderByIdAsc(Integer ownerId, Pageable pageable);
+
     @Query("select distinct i from Item i left join fetch i.bookings b where i.id = :itemId")
     Optional<Item> findItemByIdWithBookingsFetched(@Param("itemId") Integer itemId);
 
-    @Query("select distinct i from Item i join fetch i.owner u left join fetch i.bookings b where u.id = :ownerId")
-    List<Item> findAllByOwnerIdFetchBookings(@Param("ownerId") Integer ownerId, Pageable pageable);
+    /**
+     * Всё, от чего зависит карточка вещи для не-владельца, без загрузки самой вещи: версия и число отзывов.
+     */
+    @Query(" select i.version as version, i.owner.id as ownerId, " +
+            "       (select count(c) from Comment c where c.item.id = i.id) as comments " +
+            "  from Item i " +
+            " where i.id = :itemId")
+    Optional<ItemVersionView> findVersionById(@Param("itemId") Integer itemId);
 
     List<Item> findAllByRequest_Id(Integer requestId);
+
+    List<Item> findAllByRequest_IdIn(Collection<Integer> requestIds);
 }
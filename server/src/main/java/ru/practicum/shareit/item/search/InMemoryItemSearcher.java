@@ -0,0 +1,79 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по инвертированному индексу в памяти процесса. Индекс строится из БД при старте
+ * и обновляется при создании и изменении вещей; в БД уходит только выборка найденной
+ * страницы по первичному ключу.
+ * <p>
+ * Индекс строится отдельно и подменяется целиком, до запуска веб-сервера: поиск не видит его
+ * пустым или недостроенным, а изменения вещей не приходят во время построения и не теряются.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "memory")
+public class InMemoryItemSearcher implements ItemSearcher, InfoContributor, SmartInitializingSingleton {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private volatile InvertedIndex index = new InvertedIndex();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    void rebuild() {
+        InvertedIndex built = new InvertedIndex();
+        int lastId = 0;
+        List<ItemSearchView> batch;
+        do {
+            batch = itemRepository.findSearchViewsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (ItemSearchView view : batch) {
+                built.put(view.getId(), view.getName() + " " + view.getDescription(), view.getAvailable());
+                lastId = view.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        index = built;
+        InvertedIndex.Footprint footprint = built.footprint();
+        log.info("Item search index built: {} items, {} terms, ~{} bytes per item",
+                footprint.getItems(), footprint.getTerms(), footprint.getBytesPerItem());
+    }
+
+    @Override
+    public List<ItemSearchView> search(String text, Pageable pageable) {
+        int[] ids = index.search(text, pageable.getOffset(), pageable.getPageSize());
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+        return itemRepository.findSearchViewsByIds(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+    }
+
+    @Override
+    public void index(Item item) {
+        index.put(item.getId(), item.getName() + " " + item.getDescription(), item.getAvailable());
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        builder.withDetail("itemSearchIndex", index.footprint());
+    }
+}
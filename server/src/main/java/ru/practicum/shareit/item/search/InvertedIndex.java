@@ -0,0 +1,278 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Инвертированный индекс: слово (в нижнем регистре) -> отсортированный массив id вещей.
+ * Запрос разбивается на слова так же, как текст вещи; каждое слово запроса ищется
+ * как подстрока слов словаря, результаты по разным словам пересекаются.
+ * Чтобы не перебирать весь словарь, для каждого слова словаря хранятся все его n-граммы
+ * длиной от 1 до 3 символов: слово запроса до 3 символов находится по n-грамме сразу,
+ * для более длинного проверяются только слова с самой редкой из его триграмм.
+ */
+public class InvertedIndex {
+    private static final String WORD_SEPARATOR = "[^\\p{L}\\p{N}]+";
+
+    // Оценки для 64-битной JVM со сжатыми указателями
+    private static final int REFERENCE_BYTES = 4;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int STRING_BYTES = 24;
+    private static final int TREE_ENTRY_BYTES = 40;
+    private static final int HASH_ENTRY_BYTES = 48;
+    private static final int POSTINGS_BYTES = 16;
+    private static final int SET_BYTES = 64;
+    private static final int GRAM_LENGTH = 3;
+
+    private final NavigableMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    private final Map<Integer, String[]> itemTerms = new HashMap<>();
+    private final BitSet available = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int itemId, String text, boolean isAvailable) {
+        String[] terms = tokenize(text);
+        lock.writeLock().lock();
+        try {
+            removeTerms(itemId);
+            for (int i = 0; i < terms.length; i++) {
+                String term = terms[i];
+                Postings postings = dictionary.get(term);
+                if (postings == null) {
+                    postings = new Postings();
+                    dictionary.put(term, postings);
+                    addGrams(term);
+                } else {
+                    // переиспользуем строку из словаря, чтобы не хранить дубликаты
+                    terms[i] = dictionary.ceilingKey(term);
+                }
+                postings.add(itemId);
+            }
+            itemTerms.put(itemId, terms);
+            available.set(itemId, isAvailable);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int itemId) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(itemId);
+            available.clear(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает id доступных вещей, подходящих под запрос, по возрастанию,
+     * пропустив первые {@code offset} и не более {@code limit} штук.
+     */
+    public int[] search(String query, long offset, int limit) {
+        String[] words = tokenize(query);
+        if (words.length == 0) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            // начинаем с кандидатов первого слова: копировать битмап доступности размером с max(id) не нужно
+            BitSet matches = itemsWithSubstring(words[0]);
+            for (int i = 1; i < words.length && !matches.isEmpty(); i++) {
+                matches.and(itemsWithSubstring(words[i]));
+            }
+            matches.and(available);
+            return page(matches, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Footprint footprint() {
+        lock.readLock().lock();
+        try {
+            long postingsCount = 0;
+            long bytes = 0;
+            for (Map.Entry<String, Postings> entry : dictionary.entrySet()) {
+                postingsCount += entry.getValue().size;
+                bytes += stringBytes(entry.getKey()) + TREE_ENTRY_BYTES + entry.getValue().bytes();
+            }
+            for (Map.Entry<String, Set<String>> entry : grams.entrySet()) {
+                bytes += stringBytes(entry.getKey()) + HASH_ENTRY_BYTES + SET_BYTES
+                        + (long) HASH_ENTRY_BYTES * entry.getValue().size();
+            }
+            for (String[] terms : itemTerms.values()) {
+                bytes += HASH_ENTRY_BYTES + ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * terms.length;
+            }
+            bytes += available.size() / Byte.SIZE;
+            int items = itemTerms.size();
+            return new Footprint(items, dictionary.size(), postingsCount, bytes,
+                    items == 0 ? 0 : bytes / items);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null) {
+            return new String[0];
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split(WORD_SEPARATOR))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private void removeTerms(int itemId) {
+        String[] previous = itemTerms.remove(itemId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous) {
+            Postings postings = dictionary.get(term);
+            if (postings != null && postings.remove(itemId) && postings.size == 0) {
+                dictionary.remove(term);
+                removeGrams(term);
+            }
+        }
+    }
+
+    private BitSet itemsWithSubstring(String word) {
+        BitSet result = new BitSet();
+        for (String term : candidateTerms(word)) {
+            if (term.contains(word)) {
+                dictionary.get(term).addTo(result);
+            }
+        }
+        return result;
+    }
+
+    int candidateCount(String word) {
+        lock.readLock().lock();
+        try {
+            return candidateTerms(word).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<String> candidateTerms(String word) {
+        if (word.length() <= GRAM_LENGTH) {
+            return grams.getOrDefault(word, Collections.emptySet());
+        }
+        Set<String> rarest = null;
+        for (int i = 0; i + GRAM_LENGTH <= word.length(); i++) {
+            Set<String> terms = grams.get(word.substring(i, i + GRAM_LENGTH));
+            if (terms == null) {
+                return Collections.emptySet();
+            }
+            if (rarest == null || terms.size() < rarest.size()) {
+                rarest = terms;
+            }
+        }
+        return rarest;
+    }
+
+    private void addGrams(String term) {
+        forEachGram(term, gram -> grams.computeIfAbsent(gram, g -> new HashSet<>()).add(term));
+    }
+
+    private void removeGrams(String term) {
+        forEachGram(term, gram -> {
+            Set<String> terms = grams.get(gram);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                grams.remove(gram);
+            }
+        });
+    }
+
+    private static void forEachGram(String term, Consumer<String> action) {
+        for (int start = 0; start < term.length(); start++) {
+            for (int end = start + 1; end <= Math.min(start + GRAM_LENGTH, term.length()); end++) {
+                action.accept(term.substring(start, end));
+            }
+        }
+    }
+
+    private static int[] page(BitSet matches, long offset, int limit) {
+        int[] result = new int[Math.min(limit, matches.cardinality())];
+        int found = 0;
+        long skipped = 0;
+        for (int id = matches.nextSetBit(0); id >= 0 && found < result.length; id = matches.nextSetBit(id + 1)) {
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                result[found++] = id;
+            }
+        }
+        return found == result.length ? result : Arrays.copyOf(result, found);
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return STRING_BYTES + ARRAY_HEADER_BYTES + (long) value.length() * (latin1 ? 1 : 2);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Footprint {
+        private final int items;
+        private final int terms;
+        private final long postings;
+        private final long estimatedBytes;
+        private final long bytesPerItem;
+    }
+
+    private static class Postings {
+        private int[] ids = new int[2];
+        private int size;
+
+        void add(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return false;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+            return true;
+        }
+
+        void addTo(BitSet target) {
+            for (int i = 0; i < size; i++) {
+                target.set(ids[i]);
+            }
+        }
+
+        long bytes() {
+            return POSTINGS_BYTES + ARRAY_HEADER_BYTES + (long) Integer.BYTES * ids.length;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+public interface ItemSearcher {
+    List<ItemSearchView> search(String text, Pageable pageable);
+
+    /**
+     * Вызывается после сохранения вещи. Поиску, который читает данные прямо из БД,
+     * делать ничего не нужно.
+     */
+    default void index(Item item) {
+    }
+}
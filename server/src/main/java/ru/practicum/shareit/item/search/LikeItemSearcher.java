@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск подстрокой через {@code like '%text%'}. Работает на любой БД, в том числе на H2,
+ * но не использует индексы.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearcher implements ItemSearcher {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemSearchView> search(String text, Pageable pageable) {
+        return itemRepository.search(text, pageable);
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск подстроки через {@code ilike '%text%'} с GIN-индексами pg_trgm (см. schema-trigram.sql,
+ * индексы создаются только в этом режиме). Результаты упорядочены по триграммной похожести запроса
+ * на название и описание; ранжирование включается режимом поиска для всего сервера, а не параметром запроса.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item-search.mode", havingValue = "trigram")
+public class TrigramItemSearcher implements ItemSearcher {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemSearchView> search(String text, Pageable pageable) {
+        String query = text.trim();
+        return itemRepository.searchTrigram(query, toLikePattern(query), pageable);
+    }
+
+    static String toLikePattern(String text) {
+        String escaped = text.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
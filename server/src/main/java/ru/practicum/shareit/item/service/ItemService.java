@@ -7,10 +7,23 @@ import java.util.List;
 public interface ItemService {
     ItemDto create(int userId, ItemDto itemDto);
 
+    /**
+     * Пакетное создание вещей одного владельца: владелец и запросы загружаются одним запросом каждый,
+     * вещи вставляются пакетами JDBC.
+     */
+    List<ItemDto> createAll(int userId, List<ItemDto> itemDtos);
+
     ItemDto update(int userId, int itemId, ItemDto itemDto);
 
     ItemDto getItemById(int userId, int itemId);
 
+    /**
+     * ETag карточки вещи для пользователя или null, если ответ нельзя проверить по версии.
+     * Вычисляется до загрузки вещи: если она успеет измениться, клиент получит более новое
+     * тело со старым ETag и при следующем запросе просто загрузит его заново.
+     */
+    String getItemETag(int userId, int itemId);
+
     List<ItemDto> getItemsByUser(int userId, int from, int size);
 
     List<ItemDto> search(String text, int from, int size);
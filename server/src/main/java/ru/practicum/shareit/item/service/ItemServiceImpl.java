@@ -5,29 +5,32 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearcher;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validator.BatchValidator;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,6 +41,10 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final CommentService commentService;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearcher itemSearcher;
+    private final ItemAvailabilityService itemAvailabilityService;
+    private final BookingRepository bookingRepository;
+    private final BatchValidator batchValidator;
 
     @Override
     public ItemDto create(int userId, ItemDto itemDto) {
@@ -57,9 +64,34 @@ public class ItemServiceImpl implements ItemService {
         itemDto.setOwnerId(userId);
         Item item = ItemMapper.toItem(itemDto, owner, itemRequest);
         Item saved = itemRepository.save(item);
+        itemSearcher.index(saved);
+        itemAvailabilityService.onItemSaved(saved);
         return ItemMapper.toItemDto(saved);
     }
 
+    @Override
+    public List<ItemDto> createAll(int userId, List<ItemDto> itemDtos) {
+        batchValidator.validateAll(itemDtos);
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> {
+                    String msg = String.format("User with ID=%d not found.", userId);
+                    return new NotFoundException(msg, HttpStatus.NOT_FOUND);
+                });
+        Map<Integer, ItemRequest> requests = findRequestsOf(itemDtos);
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> {
+                    itemDto.setOwnerId(userId);
+                    return ItemMapper.toItem(itemDto, owner, requests.get(itemDto.getRequestId()));
+                })
+                .collect(Collectors.toList());
+        itemRepository.saveAll(items);
+        items.forEach(itemSearcher::index);
+        items.forEach(itemAvailabilityService::onItemSaved);
+        return items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public ItemDto update(int userId, int itemId, ItemDto itemDto) {
         Item toUpdate = findItemByIdOrThrow(itemId);
@@ -67,22 +99,35 @@ public class ItemServiceImpl implements ItemService {
         checkItemBelongsToUser(toUpdate, userId);
         updateItem(itemDto, toUpdate);
         itemRepository.save(toUpdate);
+        itemSearcher.index(toUpdate);
+        itemAvailabilityService.onItemSaved(toUpdate);
         return ItemMapper.toItemDto(toUpdate);
     }
 
     @Override
     public ItemDto getItemById(int userId, int itemId) {
-        Item item = findItemBookingsFetchedOrThrow(itemId);
+        Item item = findItemByIdOrThrow(itemId);
         ItemDto dto = ItemMapper.toItemDto(item);
         setCommentsToDtoFromDb(dto);
-        setBookings(dto, item, userId);
+        if (dto.getOwnerId() == userId) {
+            setBookings(List.of(dto));
+        }
         return dto;
     }
 
+    @Override
+    public String getItemETag(int userId, int itemId) {
+        return itemRepository.findVersionById(itemId)
+                // владельцу показываются последнее и следующее бронирования, они меняются со временем
+                .filter(view -> view.getOwnerId() != userId)
+                .map(view -> view.getVersion() + "-" + view.getComments())
+                .orElse(null);
+    }
+
     @Override
     public List<ItemDto> getItemsByUser(int userId, int from, int size) {
         Pageable pageable = calculatePageable(from, size);
-        Map<Integer, Item> idToItem = getItemsMapFetchedWithBookings(userId, pageable);
+        Map<Integer, Item> idToItem = getItemsMap(userId, pageable);
         Map<Integer, List<CommentResponse>> itemIdToComments =
                 commentService.getItemIdToComments(idToItem.keySet());
         return createItemDtos(idToItem, itemIdToComments);
@@ -94,13 +139,30 @@ public class ItemServiceImpl implements ItemService {
         if (text == null || text.isEmpty() || text.isBlank()) {
             return Collections.emptyList();
         }
-        List<Item> items = itemRepository.search(text, pageable);
+        List<ItemSearchView> items = itemSearcher.search(text, pageable);
         return items.stream()
-                .filter(Item::getAvailable)
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    private Map<Integer, ItemRequest> findRequestsOf(List<ItemDto> itemDtos) {
+        Set<Integer> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (requestIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Integer, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+        if (requests.size() < requestIds.size()) {
+            requestIds.removeAll(requests.keySet());
+            String msg = String.format("Запросы с ID=%s не найдены", requestIds);
+            throw new NotFoundException(msg, HttpStatus.NOT_FOUND);
+        }
+        return requests;
+    }
+
     private void checkItemBelongsToUser(Item item, Integer ownerId) {
         if (!item.getOwner().getId().equals(ownerId)) {
             String msg = "Вещь не принадлежит пользователю";
@@ -147,35 +209,28 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private Item findItemBookingsFetchedOrThrow(Integer itemId) {
-        return itemRepository.findItemByIdWithBookingsFetched(itemId)
-                .orElseThrow(() -> {
-                    String msg = String.format("Вещь id=%d не найдена", itemId);
-                    return new NotFoundException(msg, HttpStatus.NOT_FOUND);
-                });
-    }
-
     private void setCommentsToDtoFromDb(ItemDto dto) {
         List<CommentResponse> comments = commentService.getCommentsOfItem(dto.getId());
         dto.setComments(comments);
     }
 
-    private Map<Integer, Item> getItemsMapFetchedWithBookings(Integer userId, Pageable pageable) {
-        return itemRepository.findAllByOwnerIdFetchBookings(userId, pageable)
+    private Map<Integer, Item> getItemsMap(Integer userId, Pageable pageable) {
+        return itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageable)
                 .stream()
-                .collect(Collectors.toMap(Item::getId, Function.identity()));
+                .collect(Collectors.toMap(Item::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
     }
 
     private List<ItemDto> createItemDtos(Map<Integer, Item> idToItem,
                                          Map<Integer, List<CommentResponse>> itemIdToComments) {
-        return idToItem.values().stream()
+        List<ItemDto> dtos = idToItem.values().stream()
                 .map(i -> {
                     ItemDto dto = ItemMapper.toItemDto(i);
-                    setBookings(dto, i, i.getOwner().getId());
                     addCommentsToDtoFromMem(dto, itemIdToComments);
                     return dto;
                 })
                 .collect(Collectors.toList());
+        setBookings(dtos);
+        return dtos;
     }
 
     private void addCommentsToDtoFromMem(ItemDto dto,
@@ -185,49 +240,15 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
-    private void setBookings(ItemDto dto, Item item, Integer userId) {
-        if (userId.equals(dto.getOwnerId())) {
-            LocalDateTime now = LocalDateTime.now();
-            List<Booking> bookings = item.getBookings();
-            bookings.stream()
-                    .filter(isActiveAfterNow(now))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .ifPresent(addNextBooking(dto));
-
-            bookings.stream()
-                    .filter(isStartedAndApprovedBeforeNow(now))
-                    .max(Comparator.comparing(Booking::getStart))
-                    .ifPresent(addLastBookings(dto));
+    private void setBookings(List<ItemDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
         }
-    }
-
-    private Consumer<Booking> addLastBookings(ItemDto dto) {
-        return b -> {
-            dto.setLastBooking(BookingResponseDto.builder()
-                    .id(b.getId())
-                    .bookerId(b.getBooker().getId())
-                    .build());
-        };
-    }
-
-    private Predicate<Booking> isStartedAndApprovedBeforeNow(LocalDateTime now) {
-        return b -> (b.getEnd().isBefore(now) || (b.getEnd().isAfter(now) && b.getStart().isBefore(now)))
-                && b.getStatus().equals(BookingStatus.APPROVED);
-    }
-
-    private Consumer<Booking> addNextBooking(ItemDto dto) {
-        return b -> {
-            dto.setNextBooking(BookingResponseDto.builder()
-                    .id(b.getId())
-                    .bookerId(b.getBooker().getId())
-                    .build());
-        };
-    }
-
-    private Predicate<Booking> isActiveAfterNow(LocalDateTime now) {
-        return b -> b.getStart().isAfter(now)
-                && (b.getStatus().equals(BookingStatus.WAITING)
-                || b.getStatus().equals(BookingStatus.APPROVED));
+        // из БД приходит не больше одной последней и одной следующей брони на вещь
+        LocalDateTime now = LocalDateTime.now();
+        List<Integer> itemIds = dtos.stream().map(ItemDto::getId).collect(Collectors.toList());
+        ItemMapper.setBookings(dtos, bookingRepository.findLastBookingsOfItems(itemIds, now),
+                bookingRepository.findNextBookingsOfItems(itemIds, now));
     }
 
     private Pageable calculatePageable(int id, int itemCount) {
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.repository.BookingQuery;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+/**
+ * Таймеры вызовов сервисов (shareit.service) и запросов к репозиториям вещей и бронирований
+ * (shareit.repository) с тегами class, method и exception. Выборка списка бронирований
+ * дополнительно пишется в shareit.booking.query с тегами role, state и paging - по ним видно,
+ * какой из двенадцати вариантов запроса медленный.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class MetricsAspect {
+    private final MeterRegistry registry;
+
+    @Around("execution(* ru.practicum.shareit.item.service.ItemService.*(..))"
+            + " || execution(* ru.practicum.shareit.item.service.CommentService.*(..))"
+            + " || execution(* ru.practicum.shareit.booking.service.BookingService.*(..))"
+            + " || execution(* ru.practicum.shareit.request.service.ItemRequestService.*(..))"
+            + " || execution(* ru.practicum.shareit.user.service.UserService.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "shareit.service", Tags.of(
+                "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                "method", joinPoint.getSignature().getName()));
+    }
+
+    // this(), а не execution(): унаследованные findById, save и т.п. объявлены в интерфейсах Spring Data
+    @Around("(this(ru.practicum.shareit.booking.repository.BookingRepository)"
+            + " || this(ru.practicum.shareit.item.repository.ItemRepository))"
+            + " && execution(public * *(..)) && !execution(* java.lang.Object.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        String repository = joinPoint.getThis() instanceof BookingRepository
+                ? "BookingRepository" : "ItemRepository";
+        return time(joinPoint, "shareit.repository", Tags.of(
+                "class", repository,
+                "method", joinPoint.getSignature().getName()));
+    }
+
+    @Around("this(ru.practicum.shareit.booking.repository.BookingRepository)"
+            + " && execution(* ru.practicum.shareit.booking.repository.BookingQueryRepository.findBookings(..))"
+            + " && args(query)")
+    public Object timeBookingQuery(ProceedingJoinPoint joinPoint, BookingQuery query) throws Throwable {
+        return time(joinPoint, "shareit.booking.query", Tags.of(
+                "role", String.valueOf(query.getRole()),
+                "state", String.valueOf(query.getState()),
+                "paging", query.getAfter() == null ? "offset" : "cursor"));
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String name, Tags tags) throws Throwable {
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(registry.timer(name, tags.and(Tag.of("exception", exception))));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -43,7 +44,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ItemRequestResponse getRequest(@RequestHeader(value = USER_HEADER) @NotNull Integer userId,
-                                          @PathVariable("requestId") Integer id) {
+                                          @PathVariable("requestId") Integer id,
+                                          WebRequest request) {
+        String eTag = itemRequestService.getItemRequestETag(id);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            return null;
+        }
         return itemRequestService.getItemRequestById(id, userId);
     }
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.request.dto;
+
+public interface ItemRequestVersionView {
+    Long getVersion();
+
+    Long getItems();
+
+    Long getItemsVersion();
+}
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 @Accessors(chain = true)
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     private Integer id;
     @Column(name = "item_description", nullable = false)
     private String description;
@@ -30,4 +31,7 @@ public class ItemRequest {
     @DateTimeFormat(pattern = DateProcessor.DATE_FORMAT)
     @CreationTimestamp
     private LocalDateTime created;
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -3,9 +3,12 @@ package ru.practicum.shareit.request.repository;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.request.dto.ItemRequestVersionView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Integer> {
 
@@ -14,4 +17,14 @@ public interface ItemRequestRepository extends JpaRepository<ItemRequest, Intege
     @Query("select i from ItemRequest i where i.requestor.id != :userId")
     List<ItemRequest> findAllNotOfUser(Integer userId, Pageable pageable);
 
+    /**
+     * Версия запроса и вещей, добавленных в ответ на него. Вещи не удаляются, а версия
+     * вещи только растёт, поэтому число и сумма версий меняются при любом изменении ответа.
+     */
+    @Query(" select r.version as version, count(i) as items, coalesce(sum(i.version), 0) as itemsVersion " +
+            "  from ItemRequest r left join Item i on i.request.id = r.id " +
+            " where r.id = :requestId " +
+            " group by r.id, r.version")
+    Optional<ItemRequestVersionView> findVersionById(@Param("requestId") Integer requestId);
+
 }
\ No newline at end of file
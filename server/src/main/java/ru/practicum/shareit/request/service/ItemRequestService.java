@@ -14,4 +14,10 @@ public interface ItemRequestService {
     List<ItemRequestResponse> getItemRequestsNotOfUser(Integer userId, int from, int size);
 
     ItemRequestResponse getItemRequestById(Integer id, Integer userId);
+
+    /**
+     * ETag запроса с вещами или null, если запроса нет. Пользователь здесь не проверяется:
+     * запросы видны всем, а проверка выполняется один раз при загрузке в getItemRequestById.
+     */
+    String getItemRequestETag(Integer id);
 }
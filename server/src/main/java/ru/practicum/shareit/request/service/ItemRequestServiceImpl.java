@@ -17,7 +17,10 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,26 +47,14 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestResponse> getItemRequestsOfUser(Integer userId) {
         checkUserExists(userId);
         List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_Id(userId);
-
-        return itemRequests.stream()
-                .map(itemRequest -> {
-                    List<Item> items = itemRepository.findAllByRequest_Id(itemRequest.getId());
-                    return ItemRequestMapper.mapToDto(itemRequest, items);
-                })
-                .collect(Collectors.toList());
+        return mapToDtosWithItems(itemRequests);
     }
 
     @Override
     public List<ItemRequestResponse> getItemRequestsNotOfUser(Integer userId, int from, int size) {
         Pageable pageable = calculatePageable(from, size, "created");
         List<ItemRequest> itemRequests = itemRequestRepository.findAllNotOfUser(userId, pageable);
-
-        return itemRequests.stream()
-                .map(itemRequest -> {
-                    List<Item> items = itemRepository.findAllByRequest_Id(itemRequest.getId());
-                    return ItemRequestMapper.mapToDto(itemRequest, items);
-                })
-                .collect(Collectors.toList());
+        return mapToDtosWithItems(itemRequests);
     }
 
     @Override
@@ -78,6 +69,33 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return ItemRequestMapper.mapToDto(request, items);
     }
 
+    @Override
+    public String getItemRequestETag(Integer id) {
+        return itemRequestRepository.findVersionById(id)
+                .map(view -> view.getVersion() + "-" + view.getItems() + "-" + view.getItemsVersion())
+                .orElse(null);
+    }
+
+    private List<ItemRequestResponse> mapToDtosWithItems(List<ItemRequest> itemRequests) {
+        if (itemRequests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Integer, List<Item>> requestIdToItems = getRequestIdToItems(itemRequests);
+        return itemRequests.stream()
+                .map(itemRequest -> ItemRequestMapper.mapToDto(itemRequest,
+                        requestIdToItems.getOrDefault(itemRequest.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, List<Item>> getRequestIdToItems(List<ItemRequest> itemRequests) {
+        Set<Integer> requestIds = itemRequests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toSet());
+        return itemRepository.findAllByRequest_IdIn(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(i -> i.getRequest().getId()));
+    }
+
     private void checkUserExists(Integer userId) {
         boolean exists = userRepository.existsById(userId);
         if (!exists) {
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Getter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Число SQL-запросов и их суммарное время в текущем HTTP-запросе. Запрос целиком обслуживает
+ * один поток сервлета, поэтому счётчик лежит в ThreadLocal. Вне HTTP-запроса (инициализация схемы,
+ * построение индексов при старте) счётчика нет и запросы учитываются только в общих метриках.
+ */
+@Getter
+class RequestSqlStats {
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private int count;
+    private long nanos;
+
+    static RequestSqlStats start() {
+        RequestSqlStats stats = new RequestSqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void finish() {
+        CURRENT.remove();
+    }
+
+    static void record(long nanos) {
+        RequestSqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.count++;
+            stats.nanos += nanos;
+        }
+    }
+
+    long getMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Оборачивает DataSource в datasource-proxy: каждый statement проходит через {@link SqlMonitoringListener}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-monitoring.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlMonitoringProperties.class)
+public class SqlMonitoringConfig {
+
+    // static и ObjectProvider: постпроцессор создаётся раньше остальных бинов,
+    // слушатель с MeterRegistry берётся только в момент создания DataSource
+    @Bean
+    public static BeanPostProcessor sqlMonitoringDataSourcePostProcessor(ObjectProvider<SqlMonitoringListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(listener.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlMonitoringListener sqlMonitoringListener(ObjectProvider<MeterRegistry> registry,
+                                                       SqlMonitoringProperties properties) {
+        return new SqlMonitoringListener(registry, properties.getSlowQueryThreshold());
+    }
+
+    @Bean
+    public SqlStatsFilter sqlStatsFilter(MeterRegistry registry, SqlMonitoringProperties properties) {
+        return new SqlStatsFilter(registry, properties.isHeaders());
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+import net.ttddyy.dsproxy.listener.logging.DefaultQueryLogEntryCreator;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Вызывается обёрткой DataSource вокруг каждого выполнения statement. Пакет вставок
+ * (executeBatch) - одно выполнение, как и обращение к БД.
+ * <p>
+ * Метрика shareit.sql{type, batch, success}: время выполнения statement без чтения результата.
+ * MeterRegistry берётся при первом запросе: метрики пула соединений, которые registry подключает
+ * при создании, сами зависят от DataSource.
+ */
+@Slf4j
+public class SqlMonitoringListener implements QueryExecutionListener {
+    private static final String STARTED = "shareit.sql.started";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final long slowQueryNanos;
+    private final DefaultQueryLogEntryCreator logEntryCreator = new DefaultQueryLogEntryCreator();
+
+    private volatile MeterRegistry registry;
+
+    public SqlMonitoringListener(ObjectProvider<MeterRegistry> registryProvider, Duration slowQueryThreshold) {
+        this.registryProvider = registryProvider;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - execInfo.getCustomValue(STARTED, Long.class);
+        RequestSqlStats.record(nanos);
+        Timer.builder("shareit.sql")
+                .description("Выполнение SQL-запросов")
+                .tags("type", type(queryInfoList),
+                        "batch", String.valueOf(execInfo.isBatch()),
+                        "success", String.valueOf(execInfo.isSuccess()))
+                .register(registry())
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (nanos >= slowQueryNanos) {
+            log.warn("Медленный SQL-запрос, {} мс: {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                    logEntryCreator.getLogEntry(execInfo, queryInfoList, false, false, false));
+        }
+    }
+
+    private MeterRegistry registry() {
+        if (registry == null) {
+            registry = registryProvider.getObject();
+        }
+        return registry;
+    }
+
+    private static String type(List<QueryInfo> queryInfoList) {
+        return queryInfoList.isEmpty() ? "OTHER" : QueryUtils.getQueryType(queryInfoList.get(0).getQuery()).name();
+    }
+}
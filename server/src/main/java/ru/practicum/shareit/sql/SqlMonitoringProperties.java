@@ -0,0 +1,27 @@
+package ru.practicum.shareit.sql;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Учёт SQL-запросов сервера: метрики, медленные запросы, счётчики на HTTP-запрос.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.sql-monitoring")
+public class SqlMonitoringProperties {
+    /**
+     * Обёртка DataSource, считающая запросы. При false сервер работает с DataSource напрямую.
+     */
+    private boolean enabled = true;
+    /**
+     * Заголовки X-Sql-Count и X-Sql-Time-Ms в ответах. Для отладки: тело ответа буферизуется,
+     * чтобы заголовки можно было добавить после выполнения запроса.
+     */
+    private boolean headers = false;
+    /**
+     * Запросы не быстрее порога пишутся в лог с параметрами.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(300);
+}
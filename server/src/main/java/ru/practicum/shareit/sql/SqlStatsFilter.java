@@ -0,0 +1,64 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Считает SQL-запросы каждого HTTP-запроса. Метрики shareit.http.sql.statements и shareit.http.sql.time
+ * с тегами method и uri (шаблон пути контроллера): рост max или среднего числа запросов
+ * на эндпоинт - признак N+1.
+ */
+@RequiredArgsConstructor
+public class SqlStatsFilter extends OncePerRequestFilter {
+    static final String COUNT_HEADER = "X-Sql-Count";
+    static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private final MeterRegistry registry;
+    private final boolean headers;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start();
+        // заголовки ставятся после выполнения запроса, поэтому тело придерживается до этого момента
+        ContentCachingResponseWrapper buffered = headers ? new ContentCachingResponseWrapper(response) : null;
+        try {
+            chain.doFilter(request, buffered != null ? buffered : response);
+        } finally {
+            RequestSqlStats.finish();
+            record(request, stats);
+            if (buffered != null) {
+                buffered.setHeader(COUNT_HEADER, String.valueOf(stats.getCount()));
+                buffered.setHeader(TIME_HEADER, String.valueOf(stats.getMillis()));
+                buffered.copyBodyToResponse();
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestSqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("shareit.http.sql.statements")
+                .description("SQL-запросов на HTTP-запрос")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(stats.getCount());
+        Timer.builder("shareit.http.sql.time")
+                .description("Суммарное время SQL-запросов HTTP-запроса")
+                .tags("method", request.getMethod(), "uri", uri)
+                .register(registry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+    }
+}
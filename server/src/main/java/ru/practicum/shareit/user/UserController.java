@@ -30,6 +30,11 @@ public class UserController {
         return userService.create(userDto);
     }
 
+    @PostMapping("/batch")
+    public List<UserDto> createAll(@RequestBody List<UserDto> userDtos) {
+        return userService.createAll(userDtos);
+    }
+
     @PatchMapping("/{userId}")
     public UserDto update(@PathVariable("userId") int userId, @RequestBody UserDto userDto) {
         return userService.update(userId, userDto);
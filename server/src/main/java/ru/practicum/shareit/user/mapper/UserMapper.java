@@ -12,6 +12,8 @@ public class UserMapper {
     }
 
     public User toUser(UserDto userDto) {
-        return new User(userDto.getId(), userDto.getName(), userDto.getEmail());
+        // id = 0 - новый пользователь: без id Spring Data сразу делает persist, а не merge с лишним select
+        Integer id = userDto.getId() == 0 ? null : userDto.getId();
+        return new User(id, userDto.getName(), userDto.getEmail());
     }
 }
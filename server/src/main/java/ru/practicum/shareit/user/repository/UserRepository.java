@@ -1,7 +1,18 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
+
 public interface UserRepository extends JpaRepository<User, Integer> {
+    /**
+     * Результат кэшируется в кэше запросов Hibernate и сбрасывается при любом изменении таблицы users.
+     */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("select count(u) > 0 from User u where u.id = :id")
+    boolean existsById(@Param("id") Integer id);
 }
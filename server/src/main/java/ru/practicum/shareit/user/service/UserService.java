@@ -11,6 +11,8 @@ public interface UserService {
 
     UserDto create(UserDto userDto);
 
+    List<UserDto> createAll(List<UserDto> userDtos);
+
     UserDto update(int id, UserDto userDto);
 
     void delete(int id);
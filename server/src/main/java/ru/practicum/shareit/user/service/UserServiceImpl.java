@@ -11,6 +11,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validator.BatchValidator;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -21,6 +22,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final BatchValidator batchValidator;
 
     @Override
     public List<UserDto> findAll() {
@@ -46,6 +48,28 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public List<UserDto> createAll(List<UserDto> userDtos) {
+        batchValidator.validateAll(userDtos);
+        long distinctEmails = userDtos.stream().map(UserDto::getEmail).distinct().count();
+        if (distinctEmails < userDtos.size()) {
+            throw new ValidationException("Email повторяется в пакете", HttpStatus.CONFLICT);
+        }
+        List<User> users = userDtos.stream()
+                .map(UserMapper::toUser)
+                .collect(Collectors.toList());
+        List<User> saved;
+        try {
+            saved = userRepository.saveAllAndFlush(users);
+        } catch (DataIntegrityViolationException ex) {
+            String msg = "Email уже существует";
+            throw new ValidationException(msg, HttpStatus.CONFLICT);
+        }
+        return saved.stream()
+                .map(UserMapper::toUserDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public UserDto update(int userId, UserDto userDto) {
         User toUpdate = findByIdOrThrow(userId);
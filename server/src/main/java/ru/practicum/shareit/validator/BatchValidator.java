@@ -0,0 +1,34 @@
+package ru.practicum.shareit.validator;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Проверка всех элементов пакетного запроса до записи в БД: ошибка в любом элементе отклоняет весь пакет.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchValidator {
+    private final Validator validator;
+
+    public <T> void validateAll(List<T> values) {
+        if (values == null || values.isEmpty()) {
+            throw new ValidationException("Пакет не может быть пустым", HttpStatus.BAD_REQUEST);
+        }
+        for (int i = 0; i < values.size(); i++) {
+            Set<ConstraintViolation<T>> violations = validator.validate(values.get(i));
+            if (!violations.isEmpty()) {
+                ConstraintViolation<T> violation = violations.iterator().next();
+                String msg = String.format("Элемент %d: %s - %s", i, violation.getPropertyPath(), violation.getMessage());
+                throw new ValidationException(msg, HttpStatus.BAD_REQUEST);
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+-- Удаление триграммных индексов из базы, которая работает не в режиме shareit.item-search.mode=trigram.
+-- Раньше они создавались всегда, теперь - только schema-trigram.sql в режиме trigram.
+-- Выполняется вручную один раз:
+--   psql -d shareit -f drop-trigram-indexes.sql
+
+DROP INDEX IF EXISTS idx_items_name_trgm;
+DROP INDEX IF EXISTS idx_items_description_trgm;
@@ -0,0 +1,51 @@
+-- Перевод существующей базы PostgreSQL с IDENTITY-колонок на последовательности.
+-- Выполняется вручную один раз, до запуска новой версии сервера:
+--   psql -d shareit -f identity-to-sequences.sql
+-- Последовательности продолжают нумерацию с max(id) + 1, шаг равен allocationSize в сущностях.
+-- Заодно добавляются колонки version у requests, items и bookings.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE((SELECT max(id) FROM users), 0) + 1, false);
+SELECT setval('requests_seq', COALESCE((SELECT max(id) FROM requests), 0) + 1, false);
+SELECT setval('items_seq', COALESCE((SELECT max(id) FROM items), 0) + 1, false);
+SELECT setval('bookings_seq', COALESCE((SELECT max(id) FROM bookings), 0) + 1, false);
+SELECT setval('comments_seq', COALESCE((SELECT max(id) FROM comments), 0) + 1, false);
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+
+-- id в модели - Integer, колонки приводим к тому же типу
+ALTER TABLE users ALTER COLUMN id TYPE INTEGER;
+ALTER TABLE requests ALTER COLUMN id TYPE INTEGER,
+                     ALTER COLUMN requestor_id TYPE INTEGER;
+ALTER TABLE items ALTER COLUMN id TYPE INTEGER,
+                  ALTER COLUMN owner_id TYPE INTEGER;
+ALTER TABLE bookings ALTER COLUMN id TYPE INTEGER,
+                     ALTER COLUMN booker_id TYPE INTEGER,
+                     ALTER COLUMN item_id TYPE INTEGER;
+ALTER TABLE comments ALTER COLUMN id TYPE INTEGER,
+                     ALTER COLUMN item_id TYPE INTEGER,
+                     ALTER COLUMN author_id TYPE INTEGER;
+
+-- версии для оптимистической блокировки и ETag, как в schema.sql
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+COMMIT;
@@ -0,0 +1,17 @@
+ALTER TABLE items
+    ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+        GENERATED ALWAYS AS (to_tsvector('simple', name || ' ' || description)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING GIN (search_vector) WHERE is_available;
+
+-- подтверждённые бронирования одной вещи не могут пересекаться по времени;
+-- ADD CONSTRAINT не поддерживает IF NOT EXISTS, а скрипт выполняется при каждом старте
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+    DROP CONSTRAINT IF EXISTS ex_bookings_item_approved_period;
+
+ALTER TABLE bookings
+    ADD CONSTRAINT ex_bookings_item_approved_period
+        EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+        WHERE (status = 'APPROVED');
@@ -0,0 +1,8 @@
+-- Индексы режима поиска shareit.item-search.mode=trigram, выполняется только в этом режиме:
+-- в остальных режимах их никто не читает, а обновлять их пришлось бы при каждой записи вещи.
+-- В профиле load схема при старте не создаётся: для замеров режима trigram файл выполняется вручную.
+-- Базу, созданную до выделения этого файла, можно очистить скриптом migration/drop-trigram-indexes.sql.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (name gin_trgm_ops) WHERE is_available;
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (description gin_trgm_ops) WHERE is_available;
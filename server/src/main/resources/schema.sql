@@ -3,10 +3,22 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS bookings CASCADE;
 DROP TABLE IF EXISTS comments CASCADE;
+DROP SEQUENCE IF EXISTS users_seq;
+DROP SEQUENCE IF EXISTS items_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+DROP SEQUENCE IF EXISTS bookings_seq;
+DROP SEQUENCE IF EXISTS comments_seq;
+
+-- шаг совпадает с allocationSize: Hibernate берёт из последовательности сразу 50 id (pooled-lo)
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id    INTEGER DEFAULT nextval('users_seq')    NOT NULL,
     name  VARCHAR(255)                            NOT NULL,
     email VARCHAR(512)                            NOT NULL,
     CONSTRAINT pk_user PRIMARY KEY (id),
@@ -15,22 +27,24 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id               BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    requestor_id           BIGINT                                  NOT NULL,
+    id               INTEGER DEFAULT nextval('requests_seq') NOT NULL,
+    requestor_id           INTEGER                                 NOT NULL,
     item_description varchar(1024)                           NOT NULL,
     created          TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    version          BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_request PRIMARY KEY (id),
     CONSTRAINT fk_user_id_rq FOREIGN KEY (requestor_id) REFERENCES users (id)
 );
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id          BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    owner_id       BIGINT                                  NOT NULL,
+    id          INTEGER DEFAULT nextval('items_seq')    NOT NULL,
+    owner_id       INTEGER                                 NOT NULL,
     name        VARCHAR(255)                            NOT NULL,
     description varchar(1024)                           NOT NULL,
     is_available   BOOLEAN                                 NOT NULL,
     request_id INTEGER,
+    version     BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_item PRIMARY KEY (id),
     CONSTRAINT fk_owner_id_it FOREIGN KEY (owner_id) REFERENCES users (id),
     CONSTRAINT ITEMS_REQUEST_ID_FK FOREIGN KEY(request_id) REFERENCES requests(id)
@@ -38,12 +52,13 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id             BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    booker_id         BIGINT                                  NOT NULL,
-    item_id           BIGINT                                  NOT NULL,
+    id             INTEGER DEFAULT nextval('bookings_seq') NOT NULL,
+    booker_id         INTEGER                                 NOT NULL,
+    item_id           INTEGER                                 NOT NULL,
     start_date          TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     end_date           TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     status VARCHAR(10)                             NOT NULL,
+    version        BIGINT DEFAULT 0                        NOT NULL,
     CONSTRAINT pk_booking PRIMARY KEY (id),
     CONSTRAINT fk_booker_id_bk FOREIGN KEY (booker_id) REFERENCES users (id),
     CONSTRAINT fk_item_id_bk FOREIGN KEY (item_id) REFERENCES items (id)
@@ -51,12 +66,17 @@ CREATE TABLE IF NOT EXISTS bookings
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id      BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
-    item_id    BIGINT                                  NOT NULL,
-    author_id  BIGINT                                  NOT NULL,
+    id      INTEGER DEFAULT nextval('comments_seq') NOT NULL,
+    item_id    INTEGER                                 NOT NULL,
+    author_id  INTEGER                                 NOT NULL,
     text VARCHAR(2000)                                 NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
     CONSTRAINT pk_comments PRIMARY KEY (id),
     CONSTRAINT fk_author_name_cm FOREIGN KEY (author_id) REFERENCES users (id),
     CONSTRAINT fk_item_id_cm FOREIGN KEY (item_id) REFERENCES items (id)
-)
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start_id ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start_id ON bookings (booker_id, status, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id);
@@ -13,6 +13,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookerResponse;
+import ru.practicum.shareit.booking.dto.BookingPageResponse;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateDto;
 import ru.practicum.shareit.booking.dto.ItemBookingResponse;
@@ -89,6 +90,17 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.id").value(bookingResponse.getId()));
     }
 
+    @Test
+    void getBookingById_MatchingETag_ReturnsNotModified() throws Exception {
+        when(bookingService.getBookingETag(1, 1)).thenReturn("1-0");
+
+        mockMvc.perform(get("/bookings/{bookingId}", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .header("If-None-Match", "\"1-0\""))
+                .andExpect(status().isNotModified());
+        verify(bookingService, never()).getBookingById(anyInt(), anyInt());
+    }
+
     @Test
     void getBookingsOfOwner_ReturnsListOfBookings() throws Exception {
         List<BookingResponse> bookingResponses = Collections.singletonList(createSampleBookingResponse());
@@ -102,6 +114,37 @@ class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getBookingsOfUser_WithCursor_ReturnsNextCursorHeader() throws Exception {
+        BookingPageResponse page = BookingPageResponse.builder()
+                .bookings(List.of(createSampleBookingResponse()))
+                .nextCursor("next")
+                .build();
+        when(bookingService.getBookingsOfUserAfter(1, BookingStateDto.ALL, "", 1)).thenReturn(page);
+
+        mockMvc.perform(get("/bookings")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void getBookingsOfOwner_WithCursorOnLastPage_HasNoNextCursorHeader() throws Exception {
+        BookingPageResponse page = BookingPageResponse.builder()
+                .bookings(List.of(createSampleBookingResponse()))
+                .build();
+        when(bookingService.getBookingsOfOwnerAfter(1, BookingStateDto.ALL, "abc", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/bookings/owner")
+                        .param("cursor", "abc")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     private BookingResponse createSampleBookingResponse() {
         return BookingResponse.builder()
                 .id(1)
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCursorTest {
+
+    @Test
+    void encode_Decode_ReturnsSamePosition() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 8, 10, 10, 0, 15), 42);
+
+        assertEquals(cursor, BookingCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_Empty_ReturnsFirstPage() {
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(""));
+        assertEquals(BookingCursor.FIRST, BookingCursor.decode(null));
+    }
+
+    @Test
+    void decode_Garbage_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> BookingCursor.decode("not-a-cursor"));
+    }
+}
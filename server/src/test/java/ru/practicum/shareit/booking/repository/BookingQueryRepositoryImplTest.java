@@ -0,0 +1,222 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStateDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 в режиме совместимости с PostgreSQL: проверяем и результаты запросов, и то,
+ * что план каждого из них начинается с поиска по индексу. H2 сам создаёт индексы под внешние
+ * ключи и может выбрать их вместо индексов из schema.sql, поэтому проверяется условие доступа, а не имя индекса.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:booking-query;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "ru.practicum.shareit.booking.repository.BookingQueryRepositoryImplTest$LastSql"
+})
+@Transactional
+class BookingQueryRepositoryImplTest {
+    private static final int ITEMS_PER_OWNER = 20;
+    private static final int BOOKINGS_PER_ITEM = 25;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2030, 6, 1, 12, 0);
+    private int ownerId;
+    private int bookerId;
+    private int otherOwnerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = insertUser("owner", "owner@query.ru");
+        otherOwnerId = insertUser("other", "other@query.ru");
+        bookerId = insertUser("booker", "booker@query.ru");
+        int otherBookerId = insertUser("other booker", "other.booker@query.ru");
+
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Object[]> bookings = new ArrayList<>();
+        for (int owner : new int[]{ownerId, otherOwnerId}) {
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                jdbcTemplate.update("insert into items (owner_id, name, description, is_available) values (?, ?, ?, true)",
+                        owner, "item" + i, "description");
+                int itemId = jdbcTemplate.queryForObject("select max(id) from items", Integer.class);
+                for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                    LocalDateTime start = now.plusHours(7L * (j - BOOKINGS_PER_ITEM / 2) + i);
+                    bookings.add(new Object[]{j % 2 == 0 ? bookerId : otherBookerId, itemId,
+                            Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(3)),
+                            statuses[j % statuses.length].name()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (booker_id, item_id, start_date, end_date, status) " +
+                "values (?, ?, ?, ?, ?)", bookings);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void findBookings_Booker_ReturnsOnlyMatchingBookingsInOrder(BookingStateDto state) {
+        List<BookingResponse> result = bookingRepository.findBookings(query(BookingQuery.Role.BOOKER, bookerId, state)
+                .limit(1000)
+                .build());
+
+        assertFalse(result.isEmpty());
+        assertEquals(countBookings("b.booker_id = ?", bookerId, state), result.size());
+        assertOrdered(result);
+        result.forEach(booking -> assertEquals(bookerId, booking.getBooker().getId()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void findBookings_Owner_ReturnsOnlyMatchingBookingsInOrder(BookingStateDto state) {
+        List<BookingResponse> result = bookingRepository.findBookings(query(BookingQuery.Role.OWNER, ownerId, state)
+                .limit(1000)
+                .build());
+
+        assertFalse(result.isEmpty());
+        assertEquals(countBookings("i.owner_id = ?", ownerId, state), result.size());
+        assertOrdered(result);
+        result.forEach(booking -> assertEquals(ownerId, ownerOf(booking.getItem().getId())));
+    }
+
+    @Test
+    void findBookings_FillsBookerAndItemFromSameRow() {
+        BookingResponse booking = bookingRepository.findBookings(query(BookingQuery.Role.OWNER, ownerId,
+                BookingStateDto.ALL).limit(1).build()).get(0);
+
+        assertEquals(jdbcTemplate.queryForObject("select booker_id from bookings where id = ?", Integer.class,
+                booking.getId()), booking.getBooker().getId());
+        assertEquals(jdbcTemplate.queryForObject("select i.name from bookings b join items i on i.id = b.item_id " +
+                "where b.id = ?", String.class, booking.getId()), booking.getItem().getName());
+    }
+
+    @Test
+    void findBookings_CursorPages_MatchOffsetPages() {
+        List<BookingResponse> all = bookingRepository.findBookings(query(BookingQuery.Role.BOOKER, bookerId,
+                BookingStateDto.ALL).limit(1000).build());
+
+        List<BookingResponse> pages = new ArrayList<>();
+        BookingCursor cursor = BookingCursor.FIRST;
+        List<BookingResponse> page;
+        do {
+            page = bookingRepository.findBookings(query(BookingQuery.Role.BOOKER, bookerId, BookingStateDto.ALL)
+                    .after(cursor)
+                    .limit(7)
+                    .build());
+            pages.addAll(page);
+            if (!page.isEmpty()) {
+                cursor = BookingCursor.of(page.get(page.size() - 1));
+            }
+        } while (page.size() == 7);
+
+        assertEquals(all, pages);
+        assertEquals(all.subList(14, 21), bookingRepository.findBookings(query(BookingQuery.Role.BOOKER, bookerId,
+                BookingStateDto.ALL).offset(14).limit(7).build()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void findBookings_Booker_UsesBookerIndex(BookingStateDto state) {
+        String plan = explain(query(BookingQuery.Role.BOOKER, bookerId, state).after(BookingCursor.FIRST));
+
+        assertTrue(plan.matches("(?s).*/\\* public\\.\\w+: [^*]*booker_id = .*"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void findBookings_Owner_UsesOwnerAndItemIndexes(BookingStateDto state) {
+        String plan = explain(query(BookingQuery.Role.OWNER, ownerId, state));
+
+        assertTrue(plan.matches("(?s).*/\\* public\\.\\w+: [^*]*owner_id = .*"), plan);
+        assertTrue(plan.matches("(?s).*/\\* public\\.\\w+: [^*]*item_id = .*"), plan);
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    private String explain(BookingQuery.BookingQueryBuilder builder) {
+        bookingRepository.findBookings(builder.limit(10).build());
+        return String.join("\n", jdbcTemplate.queryForList("explain " + LastSql.sql, String.class))
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private BookingQuery.BookingQueryBuilder query(BookingQuery.Role role, int userId, BookingStateDto state) {
+        return BookingQuery.builder()
+                .role(role)
+                .userId(userId)
+                .state(state)
+                .now(now);
+    }
+
+    private int countBookings(String roleCondition, int userId, BookingStateDto state) {
+        String stateCondition;
+        switch (state) {
+            case CURRENT:
+                stateCondition = "b.start_date < ? and b.end_date > ?";
+                break;
+            case PAST:
+                stateCondition = "b.end_date < ? and ? is not null";
+                break;
+            case FUTURE:
+                stateCondition = "b.start_date > ? and ? is not null";
+                break;
+            case WAITING:
+            case REJECTED:
+                stateCondition = "b.status = '" + state.name() + "' and ? is not null and ? is not null";
+                break;
+            default:
+                stateCondition = "? is not null and ? is not null";
+        }
+        Timestamp moment = Timestamp.valueOf(now);
+        return jdbcTemplate.queryForObject("select count(*) from bookings b join items i on i.id = b.item_id " +
+                "where " + roleCondition + " and " + stateCondition, Integer.class, userId, moment, moment);
+    }
+
+    private int ownerOf(int itemId) {
+        return jdbcTemplate.queryForObject("select owner_id from items where id = ?", Integer.class, itemId);
+    }
+
+    private int insertUser(String name, String email) {
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", name, email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Integer.class, email);
+    }
+
+    private static void assertOrdered(List<BookingResponse> bookings) {
+        Comparator<BookingResponse> order = Comparator.comparing(BookingResponse::getStart)
+                .thenComparing(BookingResponse::getId)
+                .reversed();
+        List<BookingResponse> sorted = new ArrayList<>(bookings);
+        sorted.sort(order);
+        assertEquals(sorted, bookings);
+    }
+
+    public static class LastSql implements StatementInspector {
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            LastSql.sql = sql;
+            return sql;
+        }
+    }
+}
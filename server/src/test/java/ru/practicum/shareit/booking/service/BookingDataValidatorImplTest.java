@@ -2,14 +2,18 @@ package ru.practicum.shareit.booking.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.LocalDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.mock;
@@ -18,12 +22,44 @@ import static org.mockito.Mockito.when;
 class BookingDataValidatorImplTest {
 
     private UserRepository userRepository;
+    private BookingRepository bookingRepository;
     private BookingDataValidatorImpl validator;
 
     @BeforeEach
     void setUp() {
         userRepository = mock(UserRepository.class);
-        validator = new BookingDataValidatorImpl(userRepository);
+        bookingRepository = mock(BookingRepository.class);
+        validator = new BookingDataValidatorImpl(userRepository, bookingRepository);
+    }
+
+    @Test
+    void throwIfOverlapsApproved_OverlapExists_ThrowsValidationException() {
+        Booking booking = createBooking();
+        when(bookingRepository.existsOverlapping(1, BookingStatus.APPROVED, booking.getStart(), booking.getEnd(), 5))
+                .thenReturn(true);
+
+        ValidationException ex = assertThrows(ValidationException.class, () ->
+                validator.throwIfOverlapsApproved(booking));
+        assertEquals(HttpStatus.CONFLICT, ex.getHttpStatus());
+    }
+
+    @Test
+    void throwIfOverlapsApproved_NoOverlap_NoExceptionThrown() {
+        Booking booking = createBooking();
+        when(bookingRepository.existsOverlapping(1, BookingStatus.APPROVED, booking.getStart(), booking.getEnd(), 5))
+                .thenReturn(false);
+
+        assertDoesNotThrow(() -> validator.throwIfOverlapsApproved(booking));
+    }
+
+    private Booking createBooking() {
+        Booking booking = new Booking();
+        booking.setId(5);
+        booking.setItem(new Item());
+        booking.getItem().setId(1);
+        booking.setStart(LocalDateTime.of(2030, 1, 1, 10, 0));
+        booking.setEnd(LocalDateTime.of(2030, 1, 2, 10, 0));
+        return booking;
     }
 
     @Test
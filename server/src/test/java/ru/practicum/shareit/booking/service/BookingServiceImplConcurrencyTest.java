@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BookingServiceImplConcurrencyTest {
+    private static final int THREADS = 16;
+    private static final int OVERLAPPING = 32;
+    private static final int SEPARATE = 32;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int ownerId;
+    private int itemId;
+    private final List<Integer> overlappingIds = new ArrayList<>();
+    private final List<Integer> separateIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ownerId = insertUser("owner", "owner@concurrency.ru");
+        int bookerId = insertUser("booker", "booker@concurrency.ru");
+        jdbcTemplate.update("insert into items (owner_id, name, description, is_available) values (?, ?, ?, true)",
+                ownerId, "item", "description");
+        itemId = jdbcTemplate.queryForObject("select max(id) from items where owner_id = ?", Integer.class, ownerId);
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < OVERLAPPING; i++) {
+            // все интервалы накрывают отрезок [start + 2ч, start + 3ч]
+            overlappingIds.add(insertBooking(bookerId, start.plusMinutes(i), start.plusHours(3).plusMinutes(i)));
+        }
+        for (int i = 0; i < SEPARATE; i++) {
+            LocalDateTime separateStart = start.plusDays(i + 1);
+            separateIds.add(insertBooking(bookerId, separateStart, separateStart.plusHours(1)));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from bookings where item_id = ?", itemId);
+        jdbcTemplate.update("delete from items where id = ?", itemId);
+        jdbcTemplate.update("delete from users where email like '%@concurrency.ru'");
+    }
+
+    @Test
+    void updateApproved_ConcurrentApprovalsOfSameItem_OnlyNonOverlappingSucceed() throws Exception {
+        List<Integer> all = new ArrayList<>(overlappingIds);
+        all.addAll(separateIds);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Integer bookingId : all) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                try {
+                    bookingService.updateApproved(ownerId, bookingId, true);
+                    approved.incrementAndGet();
+                } catch (ValidationException e) {
+                    assertEquals(HttpStatus.CONFLICT, e.getHttpStatus());
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        long started = System.nanoTime();
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        executor.shutdown();
+
+        assertEquals(SEPARATE + 1, approved.get());
+        assertEquals(OVERLAPPING - 1, conflicts.get());
+        Integer approvedOverlapping = jdbcTemplate.queryForObject(
+                "select count(*) from bookings where item_id = ? and status = 'APPROVED' and id in (" +
+                        overlappingIds.stream().map(String::valueOf).reduce((a, b) -> a + "," + b).orElseThrow() + ")",
+                Integer.class, itemId);
+        assertEquals(1, approvedOverlapping);
+        assertTrue(elapsedMs < 10_000, "Подтверждения заняли " + elapsedMs + " мс");
+    }
+
+    private int insertUser(String name, String email) {
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", name, email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Integer.class, email);
+    }
+
+    private int insertBooking(int bookerId, LocalDateTime start, LocalDateTime end) {
+        jdbcTemplate.update("insert into bookings (booker_id, item_id, start_date, end_date, status) " +
+                        "values (?, ?, ?, ?, 'WAITING')",
+                bookerId, itemId, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        return jdbcTemplate.queryForObject("select max(id) from bookings where item_id = ?", Integer.class, itemId);
+    }
+}
@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingPageResponse;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStateDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class BookingServiceImplStatementsTest {
+    private static final int ITEMS_COUNT = 100;
+    private static final int BOOKINGS_PER_ITEM = 4;
+    private static final int PAGE_SIZE = 100;
+    // проверка существования пользователя и сама страница
+    private static final int STATEMENTS_PER_PAGE = 2;
+
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int ownerId;
+    private int bookerId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = insertUser("owner", "owner@booking-statements.ru");
+        bookerId = insertUser("booker", "booker@booking-statements.ru");
+
+        String[] statuses = {"APPROVED", "WAITING", "REJECTED", "APPROVED"};
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookings = new ArrayList<>();
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            jdbcTemplate.update("insert into items (owner_id, name, description, is_available) values (?, ?, ?, true)",
+                    ownerId, "item" + i, "description" + i);
+            int itemId = jdbcTemplate.queryForObject("select max(id) from items", Integer.class);
+            // прошлое, будущее, будущее и текущее бронирование у каждой вещи
+            LocalDateTime[] starts = {now.minusDays(10 + i), now.plusDays(1 + i), now.plusDays(200 + i),
+                    now.minusHours(1 + i)};
+            for (int j = 0; j < BOOKINGS_PER_ITEM; j++) {
+                LocalDateTime end = j == BOOKINGS_PER_ITEM - 1 ? now.plusDays(1) : starts[j].plusDays(1);
+                bookings.add(new Object[]{bookerId, itemId, Timestamp.valueOf(starts[j]), Timestamp.valueOf(end),
+                        statuses[j]});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (booker_id, item_id, start_date, end_date, status) " +
+                "values (?, ?, ?, ?, ?)", bookings);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void getAllBookingsOfUser_FixedStatementCountPerPage(BookingStateDto state) {
+        List<BookingResponse> result = bookingService.getAllBookingsOfUser(bookerId, state, 0, PAGE_SIZE);
+
+        assertPageLoadedWithoutEntities(result);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void getAllBookingsOfOwner_FixedStatementCountPerPage(BookingStateDto state) {
+        List<BookingResponse> result = bookingService.getAllBookingsOfOwner(ownerId, state, 0, PAGE_SIZE);
+
+        assertPageLoadedWithoutEntities(result);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void getBookingsOfUserAfter_FixedStatementCountPerPage(BookingStateDto state) {
+        BookingPageResponse result = bookingService.getBookingsOfUserAfter(bookerId, state, null, PAGE_SIZE);
+
+        assertPageLoadedWithoutEntities(result.getBookings());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingStateDto.class, names = "UNKNOWN", mode = EnumSource.Mode.EXCLUDE)
+    void getBookingsOfOwnerAfter_FixedStatementCountPerPage(BookingStateDto state) {
+        BookingPageResponse result = bookingService.getBookingsOfOwnerAfter(ownerId, state, null, PAGE_SIZE);
+
+        assertPageLoadedWithoutEntities(result.getBookings());
+    }
+
+    @Test
+    void getBookingsOfOwnerAfter_EveryPageHasSameStatementCount() {
+        String cursor = null;
+        int pages = 0;
+        int bookings = 0;
+        do {
+            statistics.clear();
+            BookingPageResponse page = bookingService.getBookingsOfOwnerAfter(ownerId, BookingStateDto.ALL, cursor,
+                    PAGE_SIZE);
+            // со второй страницы проверка пользователя берётся из кэша запросов Hibernate
+            assertPageLoadedWithoutEntities(page.getBookings(),
+                    pages == 0 ? STATEMENTS_PER_PAGE : STATEMENTS_PER_PAGE - 1);
+            cursor = page.getNextCursor();
+            bookings += page.getBookings().size();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(ITEMS_COUNT * BOOKINGS_PER_ITEM / PAGE_SIZE, pages);
+        assertEquals(ITEMS_COUNT * BOOKINGS_PER_ITEM, bookings);
+    }
+
+    @Test
+    void getBookingETag_OneStatementWithoutEntities_ChangesWithStatus() {
+        int bookingId = jdbcTemplate.queryForObject("select min(id) from bookings where status = 'WAITING'",
+                Integer.class);
+
+        assertEquals("0-0", bookingService.getBookingETag(bookingId, bookerId));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals("0-0", bookingService.getBookingETag(bookingId, ownerId));
+        assertNull(bookingService.getBookingETag(bookingId, -1));
+
+        bookingService.updateApproved(ownerId, bookingId, false);
+        assertEquals("1-0", bookingService.getBookingETag(bookingId, bookerId));
+    }
+
+    private void assertPageLoadedWithoutEntities(List<BookingResponse> page) {
+        assertPageLoadedWithoutEntities(page, STATEMENTS_PER_PAGE);
+    }
+
+    private void assertPageLoadedWithoutEntities(List<BookingResponse> page, int statements) {
+        assertFalse(page.isEmpty());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+        page.forEach(booking -> {
+            assertEquals(bookerId, booking.getBooker().getId());
+            assertNotNull(booking.getItem().getName());
+        });
+    }
+
+    private int insertUser(String name, String email) {
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", name, email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Integer.class, email);
+    }
+}
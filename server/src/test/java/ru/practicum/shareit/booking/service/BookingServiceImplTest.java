@@ -3,35 +3,46 @@ package ru.practicum.shareit.booking.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingPageResponse;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.dto.BookingStateDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingQuery;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static ru.practicum.shareit.booking.model.BookingStatus.*;
+import static ru.practicum.shareit.booking.repository.BookingQuery.Role.BOOKER;
+import static ru.practicum.shareit.booking.repository.BookingQuery.Role.OWNER;
 
 @ExtendWith(MockitoExtension.class)
 class BookingServiceImplTest {
@@ -44,6 +55,8 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemAvailabilityService itemAvailabilityService;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -87,6 +100,7 @@ class BookingServiceImplTest {
 
         assertNotNull(result);
         assertEquals(booking, BookingMapper.mapToDomain(bookingRequest, booker, item));
+        verify(itemAvailabilityService).onBookingSaved(booking);
     }
 
     @Test
@@ -150,6 +164,7 @@ class BookingServiceImplTest {
         Booking booking = BookingMapper.mapToDomain(bookingRequest, user1, item);
         booking.setStatus(APPROVED);
 
+        when(itemRepository.findByBookingIdForUpdate(1)).thenReturn(Optional.of(item));
         when(bookingRepository.findBookingByIdItemFetched(anyInt())).thenReturn(Optional.of(booking));
         doNothing().when(bookingDataValidator).throwIfNotOwnerOfBooking(anyInt(), anyInt(), any(Booking.class));
         doThrow(new ValidationException("Booking already approved", HttpStatus.BAD_REQUEST))
@@ -158,6 +173,29 @@ class BookingServiceImplTest {
         assertThrows(ValidationException.class, () -> bookingService.updateApproved(1, 1, true));
     }
 
+    @Test
+    void updateApproved_Approve_LocksItemBeforeLoadingBooking() {
+        Booking booking = BookingMapper.mapToDomain(bookingRequest, user1, item);
+        booking.setStatus(WAITING);
+
+        when(itemRepository.findByBookingIdForUpdate(1)).thenReturn(Optional.of(item));
+        when(bookingRepository.findBookingByIdItemFetched(1)).thenReturn(Optional.of(booking));
+
+        bookingService.updateApproved(1, 1, true);
+
+        InOrder inOrder = inOrder(itemRepository, bookingRepository, bookingDataValidator);
+        inOrder.verify(itemRepository).findByBookingIdForUpdate(1);
+        inOrder.verify(bookingRepository).findBookingByIdItemFetched(1);
+        inOrder.verify(bookingDataValidator).throwIfBookingAlreadyApproved(1, booking);
+    }
+
+    @Test
+    void updateApproved_UnknownBooking_ThrowsNotFoundException() {
+        assertThrows(NotFoundException.class, () -> bookingService.updateApproved(1, 1, true));
+
+        verify(bookingRepository, never()).findBookingByIdItemFetched(anyInt());
+    }
+
     @Test
     void updateApproved_BookingRejected_ThrowsValidationException() {
         Booking booking = BookingMapper.mapToDomain(bookingRequest, user1, item);
@@ -177,10 +215,65 @@ class BookingServiceImplTest {
         booking.setStatus(WAITING);
 
         when(bookingRepository.findBookingByIdItemFetched(anyInt())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByBookingIdForUpdate(1)).thenReturn(Optional.of(item));
 
         BookingResponse response = bookingService.updateApproved(1, 1, true);
 
         assertEquals(APPROVED, response.getStatus());
+        verify(bookingDataValidator).throwIfOverlapsApproved(booking);
+        verify(bookingRepository).saveAndFlush(booking);
+        verify(itemAvailabilityService).onBookingSaved(booking);
+    }
+
+    @Test
+    void updateApproved_OverlapsApprovedBooking_ThrowsConflict() {
+        Booking booking = BookingMapper.mapToDomain(bookingRequest, user1, item);
+        booking.setStatus(WAITING);
+
+        when(bookingRepository.findBookingByIdItemFetched(anyInt())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByBookingIdForUpdate(1)).thenReturn(Optional.of(item));
+        doThrow(new ValidationException("Overlap", HttpStatus.CONFLICT))
+                .when(bookingDataValidator).throwIfOverlapsApproved(booking);
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> bookingService.updateApproved(1, 1, true));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getHttpStatus());
+        assertEquals(WAITING, booking.getStatus());
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
+        verifyNoInteractions(itemAvailabilityService);
+    }
+
+    @Test
+    void updateApproved_ExclusionConstraintViolated_ThrowsConflict() {
+        Booking booking = BookingMapper.mapToDomain(bookingRequest, user1, item);
+        booking.setStatus(WAITING);
+
+        when(bookingRepository.findBookingByIdItemFetched(anyInt())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByBookingIdForUpdate(1)).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(new DataIntegrityViolationException("exclusion",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        ValidationException ex = assertThrows(ValidationException.class,
+                () -> bookingService.updateApproved(1, 1, true));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getHttpStatus());
+    }
+
+    @Test
+    void updateApproved_OtherIntegrityViolation_Rethrown() {
+        Booking booking = BookingMapper.mapToDomain(bookingRequest, user1, item);
+        booking.setStatus(WAITING);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("foreign key",
+                new SQLException("violates foreign key constraint \"fk_item_id_bk\"", "23503"));
+
+        when(bookingRepository.findBookingByIdItemFetched(anyInt())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByBookingIdForUpdate(1)).thenReturn(Optional.of(item));
+        when(bookingRepository.saveAndFlush(booking)).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.updateApproved(1, 1, true)));
+        verifyNoInteractions(itemAvailabilityService);
     }
 
     @Test
@@ -235,8 +328,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, booker, item));
 
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(eq(booker.getId()), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(BOOKER, booker.getId(), BookingStateDto.ALL))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfUser(booker.getId(), BookingStateDto.ALL, 0, 10);
 
@@ -244,6 +337,61 @@ class BookingServiceImplTest {
         assertEquals(bookings.size(), result.size());
     }
 
+    @Test
+    void getBookingsOfUserAfter_MoreThanPage_ReturnsPageAndNextCursor() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<Booking> bookings = List.of(
+                createBooking(3, start.plusDays(2)),
+                createBooking(2, start.plusDays(1)),
+                createBooking(1, start));
+        BookingCursor after = new BookingCursor(start.plusDays(3), 4);
+
+        when(bookingRepository.findBookings(argThat(q -> q.getAfter().equals(after) && q.getLimit() == 3)))
+                .thenReturn(toResponses(bookings));
+
+        BookingPageResponse result = bookingService.getBookingsOfUserAfter(1, BookingStateDto.ALL, after.encode(), 2);
+
+        assertEquals(2, result.getBookings().size());
+        assertEquals(3, result.getBookings().get(0).getId());
+        assertEquals(new BookingCursor(start.plusDays(1), 2), BookingCursor.decode(result.getNextCursor()));
+    }
+
+    @Test
+    void getBookingsOfUserAfter_LastPage_ReturnsNoCursor() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = List.of(createBooking(1, now.minusDays(1)));
+
+        when(bookingRepository.findBookings(argThat(q -> q.getState() == BookingStateDto.PAST
+                && q.getAfter().equals(BookingCursor.FIRST) && q.getLimit() == 11)))
+                .thenReturn(toResponses(bookings));
+
+        BookingPageResponse result = bookingService.getBookingsOfUserAfter(1, BookingStateDto.PAST, "", 10);
+
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getBookingsOfOwnerAfter_WaitingState_QueriesByStatus() {
+        BookingCursor after = new BookingCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 7);
+
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, 1, BookingStateDto.WAITING))))
+                .thenReturn(List.of());
+
+        BookingPageResponse result = bookingService.getBookingsOfOwnerAfter(1, BookingStateDto.WAITING, after.encode(), 10);
+
+        assertTrue(result.getBookings().isEmpty());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getBookingsOfOwnerAfter_InvalidCursor_ThrowsValidationException() {
+        assertThrows(ValidationException.class,
+                () -> bookingService.getBookingsOfOwnerAfter(1, BookingStateDto.ALL, "%%%", 10));
+
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void getAllBookingsOfUser_UnknownState_ThrowsValidationException() {
         User booker = user1;
@@ -269,9 +417,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, booker, item));
 
-        LocalDateTime now = LocalDateTime.now();
-        doReturn(bookings).when(bookingRepository).findAllByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                eq(booker.getId()), any(), any(), any(Pageable.class));
+        when(bookingRepository.findBookings(argThat(queryOf(BOOKER, booker.getId(), BookingStateDto.CURRENT))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfUser(booker.getId(), BookingStateDto.CURRENT, 0, 10);
 
@@ -285,9 +432,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, booker, item));
 
-        LocalDateTime now = LocalDateTime.now();
-        when(bookingRepository.findAllByBookerIdAndEndBeforeOrderByStartDesc(eq(booker.getId()), any(), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(BOOKER, booker.getId(), BookingStateDto.PAST))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfUser(booker.getId(), BookingStateDto.PAST, 0, 10);
 
@@ -301,9 +447,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, booker, item));
 
-        LocalDateTime now = LocalDateTime.now();
-        doReturn(bookings).when(bookingRepository).findAllByBookerIdAndStartAfterOrderByStartDesc(
-                eq(booker.getId()), any(), any(Pageable.class));
+        when(bookingRepository.findBookings(argThat(queryOf(BOOKER, booker.getId(), BookingStateDto.FUTURE))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfUser(booker.getId(), BookingStateDto.FUTURE, 0, 10);
 
@@ -317,8 +462,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, booker, item));
 
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(eq(booker.getId()), eq(WAITING), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(BOOKER, booker.getId(), BookingStateDto.WAITING))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfUser(booker.getId(), BookingStateDto.WAITING, 0, 10);
 
@@ -332,8 +477,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, booker, item));
 
-        when(bookingRepository.findAllByBookerIdAndStatusOrderByStartDesc(eq(booker.getId()), eq(REJECTED), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(BOOKER, booker.getId(), BookingStateDto.REJECTED))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfUser(booker.getId(), BookingStateDto.REJECTED, 0, 10);
 
@@ -347,8 +492,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, user1, item));
 
-        when(bookingRepository.findAllByItemOwnerIdOrderByStartDesc(eq(owner.getId()), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, owner.getId(), BookingStateDto.ALL))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfOwner(owner.getId(), BookingStateDto.ALL, 0, 10);
 
@@ -378,9 +523,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, user1, item));
 
-        LocalDateTime now = LocalDateTime.now();
-        doReturn(bookings).when(bookingRepository).findAllByItemOwnerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                eq(owner.getId()), any(), any(), any(Pageable.class));
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, owner.getId(), BookingStateDto.CURRENT))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfOwner(owner.getId(), BookingStateDto.CURRENT, 0, 10);
 
@@ -394,9 +538,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, user1, item));
 
-        LocalDateTime now = LocalDateTime.now();
-        when(bookingRepository.findAllByItemOwnerIdAndEndBeforeOrderByStartDesc(eq(owner.getId()), any(), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, owner.getId(), BookingStateDto.PAST))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfOwner(owner.getId(), BookingStateDto.PAST, 0, 10);
 
@@ -410,9 +553,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, user1, item));
 
-        LocalDateTime now = LocalDateTime.now();
-        doReturn(bookings).when(bookingRepository).findAllByItemOwnerIdAndStartAfterOrderByStartDesc(
-                eq(owner.getId()), any(), any(Pageable.class));
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, owner.getId(), BookingStateDto.FUTURE))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfOwner(owner.getId(), BookingStateDto.FUTURE, 0, 10);
 
@@ -426,8 +568,8 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, user1, item));
 
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(eq(owner.getId()), eq(WAITING), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, owner.getId(), BookingStateDto.WAITING))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfOwner(owner.getId(), BookingStateDto.WAITING, 0, 10);
 
@@ -441,12 +583,39 @@ class BookingServiceImplTest {
         List<Booking> bookings = new ArrayList<>();
         bookings.add(BookingMapper.mapToDomain(bookingRequest, user1, item));
 
-        when(bookingRepository.findAllByItemOwnerIdAndStatusOrderByStartDesc(eq(owner.getId()), eq(REJECTED), any(Pageable.class)))
-                .thenReturn(bookings);
+        when(bookingRepository.findBookings(argThat(queryOf(OWNER, owner.getId(), BookingStateDto.REJECTED))))
+                .thenReturn(toResponses(bookings));
 
         List<BookingResponse> result = bookingService.getAllBookingsOfOwner(owner.getId(), BookingStateDto.REJECTED, 0, 10);
 
         assertNotNull(result);
         assertEquals(bookings.size(), result.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingsOfUser_FromInsidePage_QueriesWholePage() {
+        bookingService.getAllBookingsOfUser(1, BookingStateDto.ALL, 25, 10);
+
+        verify(bookingRepository).findBookings(argThat(q -> q.getAfter() == null
+                && q.getOffset() == 20 && q.getLimit() == 10));
+    }
+
+    private static ArgumentMatcher<BookingQuery> queryOf(BookingQuery.Role role, Integer userId,
+                                                         BookingStateDto state) {
+        return query -> query.getRole() == role && query.getUserId().equals(userId) && query.getState() == state;
+    }
+
+    private static List<BookingResponse> toResponses(List<Booking> bookings) {
+        return bookings.stream()
+                .map(BookingMapper::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    private Booking createBooking(int id, LocalDateTime start) {
+        Booking booking = BookingMapper.mapToDomain(bookingRequest, user2, item);
+        booking.setId(id);
+        booking.setStart(start);
+        booking.setEnd(start.plusHours(1));
+        return booking;
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.service.BookingDataValidator;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Без @Transactional: в кэш второго уровня изменения попадают только после фиксации транзакции.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class HibernateCacheTest {
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private BookingDataValidator bookingDataValidator;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry registry;
+
+    private Statistics statistics;
+    private UserDto user;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        user = userService.create(UserDto.builder().name("cached").email("cached@hibernate-cache.ru").build());
+        item = itemService.create(user.getId(), ItemDto.builder()
+                .name("Дрель").description("Ударная").available(true).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (itemRepository.existsById(item.getId())) {
+            itemRepository.deleteById(item.getId());
+        }
+        if (userRepository.existsById(user.getId())) {
+            userService.delete(user.getId());
+        }
+    }
+
+    @Test
+    void getUserById_SecondReadFromCache_UpdateVisible() {
+        userService.getUserById(user.getId());
+        userService.getUserById(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 2);
+
+        userService.update(user.getId(), UserDto.builder().name("renamed").build());
+
+        assertEquals("renamed", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    void existsCheck_CachedUntilUserDeleted() {
+        bookingDataValidator.throwIfUserNotExists(user.getId());
+        statistics.clear();
+        bookingDataValidator.throwIfUserNotExists(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        itemRepository.deleteById(item.getId());
+        userService.delete(user.getId());
+
+        assertThrows(NotFoundException.class, () -> bookingDataValidator.throwIfUserNotExists(user.getId()));
+    }
+
+    @Test
+    void updateItem_VisibleInNextRead() {
+        itemService.getItemById(user.getId(), item.getId());
+
+        itemService.update(user.getId(), item.getId(), ItemDto.builder().name("Перфоратор").build());
+
+        assertEquals("Перфоратор", itemService.getItemById(user.getId(), item.getId()).getName());
+    }
+
+    @Test
+    void hitRatio_ReportedPerRegion() {
+        userService.getUserById(user.getId());
+
+        double hitRatio = registry.get("shareit.hibernate-cache.hit-ratio")
+                .tag("cache", HibernateCacheConfig.USERS_REGION)
+                .gauge().value();
+        assertTrue(hitRatio > 0 && hitRatio <= 1, "hit ratio: " + hitRatio);
+        assertNotNull(registry.find("cache.gets").tag("cache", HibernateCacheConfig.ITEMS_REGION).functionCounter());
+    }
+}
@@ -12,7 +12,9 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.CommentService;
 import ru.practicum.shareit.item.service.ItemService;
@@ -38,6 +40,8 @@ class ItemControllerTest {
     private ItemService itemService;
     @MockBean
     private CommentService commentService;
+    @MockBean
+    private ItemAvailabilityService itemAvailabilityService;
 
     @Test
     void create_ReturnsCreatedItem() throws Exception {
@@ -52,6 +56,19 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(itemDto.getId()));
     }
 
+    @Test
+    void createAll_ReturnsCreatedItems() throws Exception {
+        List<ItemDto> itemDtos = List.of(createSampleItemDto());
+        when(itemService.createAll(eq(1), anyList())).thenReturn(itemDtos);
+
+        mockMvc.perform(post("/items/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(itemDtos))
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(itemDtos.get(0).getId()));
+    }
+
     @Test
     void update_ReturnsUpdatedItem() throws Exception {
         ItemDto itemDto = createSampleItemDto();
@@ -76,6 +93,30 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(itemDto.getId()));
     }
 
+    @Test
+    void getItemById_WithVersion_ReturnsETag() throws Exception {
+        when(itemService.getItemETag(2, 1)).thenReturn("3-1");
+        when(itemService.getItemById(2, 1)).thenReturn(createSampleItemDto());
+
+        mockMvc.perform(get("/items/{itemId}", 1)
+                        .header("X-Sharer-User-Id", 2))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3-1\""));
+    }
+
+    @Test
+    void getItemById_MatchingETag_ReturnsNotModifiedWithoutLoadingItem() throws Exception {
+        when(itemService.getItemETag(2, 1)).thenReturn("3-1");
+
+        mockMvc.perform(get("/items/{itemId}", 1)
+                        .header("X-Sharer-User-Id", 2)
+                        .header("If-None-Match", "\"3-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-1\""))
+                .andExpect(content().string(""));
+        verify(itemService, never()).getItemById(anyInt(), anyInt());
+    }
+
     @Test
     void getItemsByUser_ReturnsListOfItems() throws Exception {
         List<ItemDto> itemDtos = Collections.singletonList(createSampleItemDto());
@@ -115,6 +156,23 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(commentResponse.getId()));
     }
 
+    @Test
+    void getAvailability_ReturnsFreeFlagPerItem() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 4, 10, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 6, 10, 0);
+        when(itemAvailabilityService.getAvailability(List.of(1, 2), start, end))
+                .thenReturn(List.of(new ItemAvailabilityDto(1, true), new ItemAvailabilityDto(2, false)));
+
+        mockMvc.perform(get("/items/availability")
+                        .param("itemIds", "1,2")
+                        .param("start", "2030-01-04T10:00:00")
+                        .param("end", "2030-01-06T10:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].itemId").value(1))
+                .andExpect(jsonPath("$[0].free").value(true))
+                .andExpect(jsonPath("$[1].free").value(false));
+    }
+
     private ItemDto createSampleItemDto() {
         return ItemDto.builder()
                 .id(1)
@@ -0,0 +1,158 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemAvailabilityIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private MutableClock clock;
+    private ItemAvailabilityIndex index;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(BASE);
+        index = new ItemAvailabilityIndex(clock);
+        index.putItem(1, true);
+        index.putItem(2, true);
+    }
+
+    @Test
+    void isFree_NoBookings_ReturnsTrue() {
+        assertTrue(index.isFree(1, at(0), at(10)));
+    }
+
+    @Test
+    void isFree_OverlappingBooking_ReturnsFalse() {
+        index.put(1, 100, at(5), at(8));
+
+        assertFalse(index.isFree(1, at(0), at(6)));
+        assertFalse(index.isFree(1, at(6), at(7)));
+        assertFalse(index.isFree(1, at(7), at(12)));
+        assertFalse(index.isFree(1, at(0), at(12)));
+    }
+
+    @Test
+    void isFree_AdjacentBookings_ReturnsTrue() {
+        index.put(1, 100, at(5), at(8));
+
+        assertTrue(index.isFree(1, at(0), at(5)));
+        assertTrue(index.isFree(1, at(8), at(12)));
+        assertTrue(index.isFree(2, at(5), at(8)));
+    }
+
+    @Test
+    void isFree_LongEarlierBookingCoversGap_ReturnsFalse() {
+        // короткие брони внутри длинной: свободное окно между ними перекрыто длинной
+        index.put(1, 100, at(0), at(20));
+        index.put(1, 101, at(2), at(3));
+        index.put(1, 102, at(10), at(11));
+
+        assertFalse(index.isFree(1, at(5), at(6)));
+        assertTrue(index.isFree(1, at(20), at(30)));
+    }
+
+    @Test
+    void put_SameBookingTwice_ReplacesInterval() {
+        index.put(1, 100, at(5), at(8));
+        index.put(1, 100, at(20), at(22));
+
+        assertTrue(index.isFree(1, at(5), at(8)));
+        assertFalse(index.isFree(1, at(21), at(23)));
+        assertEquals(1, index.bookings());
+    }
+
+    @Test
+    void remove_Booking_FreesInterval() {
+        index.put(1, 100, at(5), at(8));
+        index.put(1, 101, at(10), at(12));
+
+        index.remove(1, 100);
+
+        assertTrue(index.isFree(1, at(5), at(8)));
+        assertFalse(index.isFree(1, at(10), at(11)));
+
+        index.remove(1, 101);
+
+        assertEquals(0, index.bookedItems());
+        assertEquals(2, index.items());
+    }
+
+    @Test
+    void isFree_UnknownItem_ReturnsFalse() {
+        assertFalse(index.isFree(3, at(0), at(10)));
+    }
+
+    @Test
+    void isFree_UnavailableItem_ReturnsFalse() {
+        index.putItem(2, false);
+
+        assertFalse(index.isFree(2, at(0), at(10)));
+    }
+
+    @Test
+    void put_EndedBooking_IsNotStored() {
+        index.put(1, 100, at(-5), at(0));
+
+        assertEquals(0, index.bookings());
+    }
+
+    @Test
+    void put_DropsEndedIntervalsOfSameItem() {
+        index.put(1, 100, at(5), at(8));
+        clock.now = at(9);
+
+        index.put(1, 101, at(10), at(12));
+
+        assertEquals(1, index.bookings());
+    }
+
+    @Test
+    void prune_DropsEndedIntervalsOfAllItems() {
+        index.put(1, 100, at(5), at(8));
+        index.put(1, 101, at(9), at(12));
+        index.put(2, 102, at(1), at(2));
+        clock.now = at(10);
+
+        index.prune();
+
+        assertEquals(1, index.bookedItems());
+        assertEquals(1, index.bookings());
+        assertFalse(index.isFree(1, at(10), at(11)));
+    }
+
+    private static LocalDateTime at(int hours) {
+        return BASE.plusHours(hours);
+    }
+
+    private static class MutableClock extends Clock {
+        private LocalDateTime now;
+
+        MutableClock(LocalDateTime now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now.toInstant(ZoneOffset.UTC);
+        }
+    }
+}
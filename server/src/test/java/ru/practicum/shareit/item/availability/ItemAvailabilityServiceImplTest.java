@@ -0,0 +1,202 @@
+package ru.practicum.shareit.item.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.BookingIntervalView;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemStatusView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityServiceImplTest {
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 4, 10, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2030, 1, 6, 10, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private ItemRepository itemRepository;
+
+    private ItemAvailabilityServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ItemAvailabilityServiceImpl(bookingRepository, itemRepository);
+    }
+
+    @Test
+    void rebuild_LoadsItemsAndBookingsInBatches() {
+        when(itemRepository.findStatusViewsAfter(eq(0), any(Pageable.class)))
+                .thenReturn(List.of(itemView(10, true), itemView(11, true), itemView(12, false)));
+        when(bookingRepository.findIntervalsAfter(eq(0), anyCollection(), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(view(1, 10, START, END)));
+
+        service.rebuild();
+
+        List<ItemAvailabilityDto> result = service.getAvailability(List.of(10, 11, 12, 13), START.plusHours(1), END);
+        assertEquals(List.of(new ItemAvailabilityDto(10, false), new ItemAvailabilityDto(11, true),
+                new ItemAvailabilityDto(12, false), new ItemAvailabilityDto(13, false)), result);
+    }
+
+    @Test
+    void rebuild_ServesPreviousIndexUntilDone() {
+        Item item = item(10);
+        service.onItemSaved(item);
+        when(itemRepository.findStatusViewsAfter(eq(0), any(Pageable.class))).thenAnswer(invocation -> {
+            assertTrue(service.getAvailability(List.of(10), START, END).get(0).getFree());
+            return List.of(itemView(11, true));
+        });
+
+        service.rebuild();
+
+        List<ItemAvailabilityDto> result = service.getAvailability(List.of(10, 11), START, END);
+        assertEquals(List.of(new ItemAvailabilityDto(10, false), new ItemAvailabilityDto(11, true)), result);
+    }
+
+    @Test
+    void contribute_CountsAllIndexedItems() {
+        service.onItemSaved(item(10));
+        service.onItemSaved(item(11));
+        service.onBookingSaved(booking(5, 10, BookingStatus.APPROVED));
+        Info.Builder builder = new Info.Builder();
+
+        service.contribute(builder);
+
+        Map<?, ?> details = (Map<?, ?>) builder.build().get("itemAvailabilityIndex");
+        assertEquals(2, details.get("items"));
+        assertEquals(1, details.get("bookedItems"));
+        assertEquals(1L, details.get("bookings"));
+    }
+
+    @Test
+    void onItemSaved_ChangesAvailability() {
+        Item item = item(10);
+        item.setAvailable(true);
+        service.onItemSaved(item);
+        assertTrue(service.getAvailability(List.of(10), START, END).get(0).getFree());
+
+        item.setAvailable(false);
+        service.onItemSaved(item);
+        assertFalse(service.getAvailability(List.of(10), START, END).get(0).getFree());
+    }
+
+    @Test
+    void onBookingSaved_WaitingThenRejected_FreesItem() {
+        Booking booking = booking(5, 10, BookingStatus.WAITING);
+        service.onItemSaved(booking.getItem());
+
+        service.onBookingSaved(booking);
+        assertFalse(service.getAvailability(List.of(10), START, END).get(0).getFree());
+
+        booking.setStatus(BookingStatus.REJECTED);
+        service.onBookingSaved(booking);
+        assertTrue(service.getAvailability(List.of(10), START, END).get(0).getFree());
+    }
+
+    @Test
+    void onBookingSaved_InTransaction_AppliedOnlyAfterCommit() {
+        Booking booking = booking(5, 10, BookingStatus.WAITING);
+        service.onItemSaved(booking.getItem());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onBookingSaved(booking);
+            assertTrue(service.getAvailability(List.of(10), START, END).get(0).getFree());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertFalse(service.getAvailability(List.of(10), START, END).get(0).getFree());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onBookingSaved_TransactionRolledBack_LeavesItemFree() {
+        Booking booking = booking(5, 10, BookingStatus.WAITING);
+        service.onItemSaved(booking.getItem());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.onBookingSaved(booking);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(service.getAvailability(List.of(10), START, END).get(0).getFree());
+    }
+
+    @Test
+    void getAvailability_StartNotBeforeEnd_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> service.getAvailability(List.of(1), END, START));
+    }
+
+    @Test
+    void getAvailability_TooManyItems_ThrowsValidationException() {
+        List<Integer> ids = IntStream.rangeClosed(1, ItemAvailabilityServiceImpl.MAX_ITEMS_PER_REQUEST + 1)
+                .boxed()
+                .collect(Collectors.toList());
+
+        assertThrows(ValidationException.class, () -> service.getAvailability(ids, START, END));
+    }
+
+    @Test
+    void getAvailability_NoItems_ReturnsEmptyList() {
+        assertEquals(Collections.emptyList(), service.getAvailability(List.of(), START, END));
+    }
+
+    private Booking booking(int id, int itemId, BookingStatus status) {
+        return Booking.builder()
+                .id(id)
+                .item(item(itemId))
+                .start(START)
+                .end(END)
+                .status(status)
+                .build();
+    }
+
+    private Item item(int id) {
+        Item item = new Item();
+        item.setId(id);
+        item.setAvailable(true);
+        return item;
+    }
+
+    private ItemStatusView itemView(int id, boolean available) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemStatusView.class,
+                Map.of("id", id, "available", available));
+    }
+
+    private BookingIntervalView view(int id, int itemId, LocalDateTime start, LocalDateTime end) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", id);
+        columns.put("itemId", itemId);
+        columns.put("start", start);
+        columns.put("end", end);
+        return new SpelAwareProxyProjectionFactory().createProjection(BookingIntervalView.class, columns);
+    }
+}
@@ -1,12 +1,18 @@
 package ru.practicum.shareit.item.mapper;
 
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemBookingView;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class ItemMapperTest {
 
@@ -49,6 +55,27 @@ class ItemMapperTest {
         assertNull(dto.getRequestId());
     }
 
+    @Test
+    void toItemDto_FromSearchView_ReturnsCorrectDto() {
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(view.getId()).thenReturn(3);
+        when(view.getOwnerId()).thenReturn(1);
+        when(view.getName()).thenReturn("Sample Item");
+        when(view.getDescription()).thenReturn("Description");
+        when(view.getAvailable()).thenReturn(true);
+        when(view.getRequestId()).thenReturn(2);
+
+        ItemDto dto = ItemMapper.toItemDto(view);
+
+        assertEquals(3, dto.getId());
+        assertEquals(1, dto.getOwnerId());
+        assertEquals("Sample Item", dto.getName());
+        assertEquals("Description", dto.getDescription());
+        assertTrue(dto.getAvailable());
+        assertEquals(2, dto.getRequestId());
+        assertNull(dto.getComments());
+    }
+
     @Test
     void toItem_ReturnsCorrectDomain() {
         ItemDto dto = ItemDto.builder()
@@ -71,4 +98,29 @@ class ItemMapperTest {
         assertTrue(domain.getAvailable());
         assertEquals(itemRequest, domain.getRequest());
     }
+
+    @Test
+    void setBookings_SetsLastAndNextByItemId() {
+        ItemDto first = ItemDto.builder().id(1).build();
+        ItemDto second = ItemDto.builder().id(2).build();
+        ItemBookingView last = bookingView(1, 10, 100);
+        ItemBookingView next = bookingView(2, 20, 200);
+
+        ItemMapper.setBookings(List.of(first, second), List.of(last), List.of(next));
+
+        assertEquals(10, first.getLastBooking().getId());
+        assertEquals(100, first.getLastBooking().getBookerId());
+        assertNull(first.getNextBooking());
+        assertNull(second.getLastBooking());
+        assertEquals(20, second.getNextBooking().getId());
+        assertEquals(200, second.getNextBooking().getBookerId());
+    }
+
+    private static ItemBookingView bookingView(int itemId, int id, int bookerId) {
+        ItemBookingView view = mock(ItemBookingView.class);
+        when(view.getItemId()).thenReturn(itemId);
+        when(view.getId()).thenReturn(id);
+        when(view.getBookerId()).thenReturn(bookerId);
+        return view;
+    }
 }
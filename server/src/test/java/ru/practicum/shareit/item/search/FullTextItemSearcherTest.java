@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FullTextItemSearcherTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private FullTextItemSearcher searcher;
+
+    @BeforeEach
+    void setUp() {
+        searcher = new FullTextItemSearcher(itemRepository);
+    }
+
+    @Test
+    void toTsQuery_SplitsWordsAndAddsPrefixMatch() {
+        assertEquals("дрель:* & аккум:*", FullTextItemSearcher.toTsQuery("Дрель  аккум"));
+    }
+
+    @Test
+    void toTsQuery_DropsTsQueryOperators() {
+        assertEquals("a:* & b:*", FullTextItemSearcher.toTsQuery("a & !b:*"));
+    }
+
+    @Test
+    void search_ValidText_QueriesFullTextIndex() {
+        Pageable pageable = PageRequest.of(0, 10);
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(itemRepository.searchFullText("дрель:*", pageable)).thenReturn(List.of(view));
+
+        List<ItemSearchView> result = searcher.search("дрель", pageable);
+
+        assertEquals(List.of(view), result);
+    }
+
+    @Test
+    void search_OnlyPunctuation_ReturnsEmptyListWithoutQuery() {
+        List<ItemSearchView> result = searcher.search("!&|", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).searchFullText(anyString(), any(Pageable.class));
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearcherTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    private InMemoryItemSearcher searcher;
+
+    @BeforeEach
+    void setUp() {
+        searcher = new InMemoryItemSearcher(itemRepository);
+    }
+
+    @Test
+    void rebuild_LoadsAllItemsInBatches() {
+        ItemSearchView drill = view(1, "Дрель", "Аккумуляторная", true);
+        ItemSearchView saw = view(2, "Пила", "Ручная", true);
+        when(itemRepository.findSearchViewsAfter(eq(0), any(Pageable.class))).thenReturn(List.of(drill, saw));
+
+        searcher.rebuild();
+        searcher.search("пила", PageRequest.of(0, 10));
+
+        verify(itemRepository).findSearchViewsByIds(List.of(2));
+    }
+
+    @Test
+    void rebuild_ServesPreviousIndexUntilDone() {
+        searcher.index(Item.builder().id(1).name("Дрель").description("Ударная").available(true).build());
+        when(itemRepository.findSearchViewsAfter(eq(0), any(Pageable.class))).thenAnswer(invocation -> {
+            searcher.search("дрель", PageRequest.of(0, 10));
+            return List.of(view(2, "Пила", "Ручная", true));
+        });
+
+        searcher.rebuild();
+        searcher.search("пила", PageRequest.of(0, 10));
+
+        verify(itemRepository).findSearchViewsByIds(List.of(1));
+        verify(itemRepository).findSearchViewsByIds(List.of(2));
+        assertTrue(searcher.search("дрель", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void search_NoMatches_DoesNotQueryDatabase() {
+        List<ItemSearchView> result = searcher.search("дрель", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+        verify(itemRepository, never()).findSearchViewsByIds(anyCollection());
+    }
+
+    @Test
+    void index_SavedItem_BecomesSearchable() {
+        Item item = Item.builder().id(7).name("Дрель").description("Ударная").available(true).build();
+
+        searcher.index(item);
+        searcher.search("удар", PageRequest.of(0, 10));
+
+        verify(itemRepository).findSearchViewsByIds(List.of(7));
+    }
+
+    @Test
+    void index_ItemBecameUnavailable_IsNoLongerFound() {
+        Item item = Item.builder().id(7).name("Дрель").description("Ударная").available(true).build();
+        searcher.index(item);
+        item.setAvailable(false);
+
+        searcher.index(item);
+
+        assertTrue(searcher.search("дрель", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void contribute_AddsIndexFootprint() {
+        searcher.index(Item.builder().id(1).name("Дрель").description("Ударная").available(true).build());
+        Info.Builder builder = new Info.Builder();
+
+        searcher.contribute(builder);
+
+        InvertedIndex.Footprint footprint = (InvertedIndex.Footprint) builder.build().get("itemSearchIndex");
+        assertEquals(1, footprint.getItems());
+    }
+
+    private ItemSearchView view(int id, String name, String description, boolean available) {
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getName()).thenReturn(name);
+        when(view.getDescription()).thenReturn(description);
+        when(view.getAvailable()).thenReturn(available);
+        return view;
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, "Дрель Аккумуляторная дрель", true);
+        index.put(2, "Отвертка Простая отвертка", true);
+        index.put(3, "Дрель ударная Сломана", false);
+        index.put(4, "Ударная дрель-шуруповерт", true);
+    }
+
+    @Test
+    void search_Prefix_IgnoresCase() {
+        assertArrayEquals(new int[]{1, 4}, index.search("ДРЕЛ", 0, 10));
+    }
+
+    @Test
+    void search_Substring_MatchesInsideWord() {
+        assertArrayEquals(new int[]{1, 4}, index.search("рель", 0, 10));
+        assertArrayEquals(new int[]{4}, index.search("уруп", 0, 10));
+    }
+
+    @Test
+    void search_SeveralWords_AllMustMatch() {
+        assertArrayEquals(new int[]{4}, index.search("удар дрель", 0, 10));
+    }
+
+    @Test
+    void search_UnavailableItems_AreSkipped() {
+        assertArrayEquals(new int[0], index.search("сломана", 0, 10));
+    }
+
+    @Test
+    void search_Paging_SkipsOffsetAndLimitsSize() {
+        assertArrayEquals(new int[]{4}, index.search("дрель", 1, 10));
+        assertArrayEquals(new int[]{1}, index.search("дрель", 0, 1));
+    }
+
+    @Test
+    void search_BlankQuery_ReturnsNothing() {
+        assertEquals(0, index.search(" ,. ", 0, 10).length);
+    }
+
+    @Test
+    void put_ExistingItem_ReplacesOldTerms() {
+        index.put(2, "Молоток", false);
+        index.put(2, "Молоток", true);
+
+        assertArrayEquals(new int[0], index.search("отвертка", 0, 10));
+        assertArrayEquals(new int[]{2}, index.search("молот", 0, 10));
+    }
+
+    @Test
+    void remove_DropsItemAndUnusedTerms() {
+        int termsBefore = index.footprint().getTerms();
+
+        index.remove(2);
+
+        assertArrayEquals(new int[0], index.search("отвертка", 0, 10));
+        assertEquals(termsBefore - 2, index.footprint().getTerms());
+    }
+
+    @Test
+    void footprint_ReportsItemsAndBytesPerItem() {
+        InvertedIndex.Footprint footprint = index.footprint();
+
+        assertEquals(4, footprint.getItems());
+        assertEquals(10, footprint.getPostings());
+        assertTrue(footprint.getBytesPerItem() > 0);
+        assertEquals(footprint.getEstimatedBytes() / 4, footprint.getBytesPerItem());
+    }
+
+    @Test
+    void search_ShortWord_MatchesAnyPosition() {
+        assertArrayEquals(new int[]{1, 4}, index.search("ел", 0, 10));
+        assertArrayEquals(new int[]{2}, index.search("тк", 0, 10));
+    }
+
+    @Test
+    void remove_LastTermWithGram_StopsMatching() {
+        index.remove(4);
+
+        assertArrayEquals(new int[0], index.search("уруп", 0, 10));
+        assertEquals(0, index.candidateCount("шуру"));
+    }
+
+    @Test
+    void candidateCount_LargeDictionary_ChecksOnlyTermsWithRarestTrigram() {
+        InvertedIndex large = new InvertedIndex();
+        Random random = new Random(42);
+        int termsCount = 100_000;
+        String[] terms = new String[termsCount];
+        for (int i = 0; i < termsCount; i++) {
+            char[] chars = new char[8];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(26));
+            }
+            terms[i] = new String(chars);
+            large.put(i, terms[i], true);
+        }
+        String word = terms[777].substring(1, 7);
+
+        assertTrue(large.candidateCount(word) < termsCount / 100);
+        assertTrue(Arrays.stream(large.search(word, 0, termsCount)).anyMatch(id -> id == 777));
+        for (int id : large.search(word, 0, termsCount)) {
+            assertTrue(terms[id].contains(word));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrigramItemSearcherTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+    @InjectMocks
+    private TrigramItemSearcher searcher;
+
+    @Test
+    void toLikePattern_EscapesWildcards() {
+        assertEquals("%50\\%\\_off\\\\%", TrigramItemSearcher.toLikePattern("50%_off\\"));
+    }
+
+    @Test
+    void search_TrimsTextAndSearchesByInfix() {
+        Pageable pageable = PageRequest.of(0, 10);
+        ItemSearchView view = mock(ItemSearchView.class);
+        when(itemRepository.searchTrigram("дрел", "%дрел%", pageable)).thenReturn(List.of(view));
+
+        List<ItemSearchView> result = searcher.search(" дрел ", pageable);
+
+        assertEquals(List.of(view), result);
+    }
+}
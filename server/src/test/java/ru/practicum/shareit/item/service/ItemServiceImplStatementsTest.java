@@ -0,0 +1,147 @@
+package ru.practicum.shareit.item.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ItemServiceImplStatementsTest {
+    private static final int ITEMS_COUNT = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int ownerId;
+    private int bookerId;
+    private int firstItemId;
+    private int lastItemId;
+
+    @BeforeEach
+    void setUp() {
+        ownerId = insertUser("owner", "owner@statements.ru");
+        bookerId = insertUser("booker", "booker@statements.ru");
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_COUNT; i++) {
+            items.add(new Object[]{ownerId, "item" + i, "description" + i});
+        }
+        jdbcTemplate.batchUpdate("insert into items (owner_id, name, description, is_available) values (?, ?, ?, true)",
+                items);
+        firstItemId = jdbcTemplate.queryForObject("select min(id) from items where owner_id = ?", Integer.class, ownerId);
+        lastItemId = jdbcTemplate.queryForObject("select max(id) from items where owner_id = ?", Integer.class, ownerId);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 50; i++) {
+            insertBooking(bookerId, now.minusDays(2L * i + 1), now.minusDays(2L * i), "APPROVED");
+            insertBooking(bookerId, now.plusDays(2L * i), now.plusDays(2L * i + 1), "WAITING");
+        }
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("insert into comments (item_id, author_id, text, created) values (?, ?, ?, ?)",
+                    firstItemId, bookerId, "comment" + i, Timestamp.valueOf(now));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getItemsByUser_FirstPage_LoadsOnlyPageWithFixedStatementCount() {
+        List<ItemDto> result = itemService.getItemsByUser(ownerId, 0, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, result.size());
+        // страница вещей, комментарии, последние и следующие бронирования
+        assertEquals(4, statistics.getPrepareStatementCount());
+        // 20 вещей, 3 комментария и их автор; бронирования сущностями не грузятся
+        assertEquals(PAGE_SIZE + 3 + 1, statistics.getEntityLoadCount());
+
+        ItemDto first = result.get(0);
+        assertEquals(firstItemId, first.getId());
+        assertEquals(3, first.getComments().size());
+        assertNotNull(first.getLastBooking());
+        assertNotNull(first.getNextBooking());
+    }
+
+    @Test
+    void getItemsByUser_LastPage_LoadsOnlyPageWithFixedStatementCount() {
+        List<ItemDto> result = itemService.getItemsByUser(ownerId, ITEMS_COUNT - PAGE_SIZE, PAGE_SIZE);
+
+        assertEquals(PAGE_SIZE, result.size());
+        assertEquals(lastItemId, result.get(PAGE_SIZE - 1).getId());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(PAGE_SIZE, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getItemETag_OneStatementWithoutEntities_ChangesWithItemAndComments() {
+        String eTag = itemService.getItemETag(bookerId, firstItemId);
+
+        assertEquals("0-3", eTag);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        itemService.update(ownerId, firstItemId, ItemDto.builder().name("renamed").build());
+        assertEquals("1-3", itemService.getItemETag(bookerId, firstItemId));
+
+        jdbcTemplate.update("insert into comments (item_id, author_id, text, created) values (?, ?, ?, ?)",
+                firstItemId, bookerId, "new comment", Timestamp.valueOf(LocalDateTime.now()));
+        assertEquals("1-4", itemService.getItemETag(bookerId, firstItemId));
+    }
+
+    @Test
+    void createAll_InsertsInJdbcBatches() {
+        int count = 1000;
+        List<ItemDto> dtos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            dtos.add(ItemDto.builder().name("batch" + i).description("batch").available(true).build());
+        }
+
+        List<ItemDto> result = itemService.createAll(ownerId, dtos);
+        itemRepository.flush();
+
+        assertEquals(count, result.size());
+        assertEquals(count, jdbcTemplate.queryForObject("select count(*) from items where name like 'batch%'",
+                Integer.class));
+        // владелец, по обращению к последовательности на каждые 50 id и один батчевый insert
+        assertEquals(1 + count / 50 + 1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getItemETag_Owner_ReturnsNull() {
+        assertNull(itemService.getItemETag(ownerId, firstItemId));
+        assertNull(itemService.getItemETag(bookerId, -1));
+    }
+
+    private int insertUser(String name, String email) {
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", name, email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Integer.class, email);
+    }
+
+    private void insertBooking(int bookerId, LocalDateTime start, LocalDateTime end, String status) {
+        jdbcTemplate.update("insert into bookings (booker_id, item_id, start_date, end_date, status) values (?, ?, ?, ?, ?)",
+                bookerId, firstItemId, Timestamp.valueOf(start), Timestamp.valueOf(end), status);
+    }
+}
@@ -6,16 +6,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.NotFoundException;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.availability.ItemAvailabilityService;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemBookingView;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearcher;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.validator.BatchValidator;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -36,6 +45,14 @@ class ItemServiceImplTest {
     private ItemRequestRepository itemRequestRepository;
     @Mock
     private CommentService commentService;
+    @Mock
+    private ItemSearcher itemSearcher;
+    @Mock
+    private ItemAvailabilityService itemAvailabilityService;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BatchValidator batchValidator;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -90,6 +107,42 @@ class ItemServiceImplTest {
         assertEquals(1, result.getOwnerId());
 
         verify(itemRepository).save(any(Item.class));
+        verify(itemSearcher).index(any(Item.class));
+        verify(itemAvailabilityService).onItemSaved(any(Item.class));
+    }
+
+    @Test
+    void createAll_LoadsOwnerAndRequestsOnce_SavesAllItems() {
+        ItemRequest request = ItemRequest.builder().id(5).build();
+        List<ItemDto> dtos = List.of(
+                ItemDto.builder().name("a").description("a").available(true).requestId(5).build(),
+                ItemDto.builder().name("b").description("b").available(true).requestId(5).build(),
+                ItemDto.builder().name("c").description("c").available(false).build());
+        when(userRepository.findById(1)).thenReturn(Optional.of(user1));
+        when(itemRequestRepository.findAllById(Set.of(5))).thenReturn(List.of(request));
+
+        List<ItemDto> result = itemService.createAll(1, dtos);
+
+        assertEquals(3, result.size());
+        assertEquals(5, result.get(0).getRequestId());
+        assertNull(result.get(2).getRequestId());
+        result.forEach(dto -> assertEquals(1, dto.getOwnerId()));
+        verify(userRepository, times(1)).findById(1);
+        verify(itemRequestRepository, times(1)).findAllById(any());
+        verify(itemRepository).saveAll(anyList());
+        verify(itemRepository, never()).save(any(Item.class));
+        verify(itemSearcher, times(3)).index(any(Item.class));
+    }
+
+    @Test
+    void createAll_UnknownRequest_ThrowsNotFoundException() {
+        List<ItemDto> dtos = List.of(ItemDto.builder().name("a").description("a").available(true).requestId(7).build());
+        when(userRepository.findById(1)).thenReturn(Optional.of(user1));
+        when(itemRequestRepository.findAllById(Set.of(7))).thenReturn(List.of());
+
+        assertThrows(NotFoundException.class, () -> itemService.createAll(1, dtos));
+
+        verify(itemRepository, never()).saveAll(anyList());
     }
 
     @Test
@@ -176,7 +229,7 @@ class ItemServiceImplTest {
 
     @Test
     void getItemById_ValidData_ReturnsItemDto() {
-        when(itemRepository.findItemByIdWithBookingsFetched(1)).thenReturn(Optional.of(item));
+        when(itemRepository.findById(1)).thenReturn(Optional.of(item));
         when(commentService.getCommentsOfItem(1)).thenReturn(List.of());
 
         ItemDto result = itemService.getItemById(1, 1);
@@ -186,9 +239,38 @@ class ItemServiceImplTest {
         assertEquals(item.getId(), result.getId());
     }
 
+    @Test
+    void getItemById_ByOwner_SetsLastAndNextBookingsFromRepository() {
+        when(itemRepository.findById(1)).thenReturn(Optional.of(item));
+        when(commentService.getCommentsOfItem(1)).thenReturn(List.of());
+        when(bookingRepository.findLastBookingsOfItems(eq(List.of(1)), any(LocalDateTime.class)))
+                .thenReturn(List.of(toBookingView(1, 10, 2)));
+        when(bookingRepository.findNextBookingsOfItems(eq(List.of(1)), any(LocalDateTime.class)))
+                .thenReturn(List.of(toBookingView(1, 11, 3)));
+
+        ItemDto result = itemService.getItemById(1, 1);
+
+        assertEquals(10, result.getLastBooking().getId());
+        assertEquals(2, result.getLastBooking().getBookerId());
+        assertEquals(11, result.getNextBooking().getId());
+        assertEquals(3, result.getNextBooking().getBookerId());
+    }
+
+    @Test
+    void getItemById_ByNotOwner_DoesNotLoadBookings() {
+        when(itemRepository.findById(1)).thenReturn(Optional.of(item));
+        when(commentService.getCommentsOfItem(1)).thenReturn(List.of());
+
+        ItemDto result = itemService.getItemById(2, 1);
+
+        assertNull(result.getLastBooking());
+        assertNull(result.getNextBooking());
+        verifyNoInteractions(bookingRepository);
+    }
+
     @Test
     void getItemById_ItemNotFound_ThrowsNotFoundException() {
-        when(itemRepository.findItemByIdWithBookingsFetched(1)).thenReturn(Optional.empty());
+        when(itemRepository.findById(1)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.getItemById(1, 1));
     }
@@ -200,10 +282,14 @@ class ItemServiceImplTest {
         comments.add(new CommentResponse(1, "text", "authorName", now));
         comments.add(new CommentResponse(2, "text2", "authorName2", now));
 
-        when(itemRepository.findAllByOwnerIdFetchBookings(eq(user1.getId()), any(Pageable.class)))
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(eq(user1.getId()), any(Pageable.class)))
                 .thenReturn(List.of(item, item2));
         when(commentService.getItemIdToComments(anySet()))
                 .thenReturn(Collections.singletonMap(item.getId(), comments));
+        when(bookingRepository.findLastBookingsOfItems(eq(List.of(1, 2)), any(LocalDateTime.class)))
+                .thenReturn(List.of(toBookingView(2, 20, 2)));
+        when(bookingRepository.findNextBookingsOfItems(eq(List.of(1, 2)), any(LocalDateTime.class)))
+                .thenReturn(List.of());
 
         List<ItemDto> result = itemService.getItemsByUser(user1.getId(), 0, 10);
 
@@ -216,6 +302,7 @@ class ItemServiceImplTest {
         assertEquals(item.getDescription(), dto1.getDescription());
         assertTrue(dto1.getAvailable());
         assertEquals(comments.size(), dto1.getComments().size());
+        assertNull(dto1.getLastBooking());
 
         ItemDto dto2 = result.get(1);
         assertEquals(item2.getId(), dto2.getId());
@@ -223,11 +310,13 @@ class ItemServiceImplTest {
         assertEquals(item2.getDescription(), dto2.getDescription());
         assertTrue(dto2.getAvailable());
         assertNull(dto2.getComments());
+        assertEquals(20, dto2.getLastBooking().getId());
+        assertNull(dto2.getNextBooking());
     }
 
     @Test
     void getItemsByUser_EmptyResult_ReturnsEmptyList() {
-        when(itemRepository.findAllByOwnerIdFetchBookings(eq(user1.getId()), any(Pageable.class)))
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(eq(user1.getId()), any(Pageable.class)))
                 .thenReturn(List.of());
 
         List<ItemDto> result = itemService.getItemsByUser(user1.getId(), 0, 10);
@@ -239,7 +328,7 @@ class ItemServiceImplTest {
     @Test
     void search_ValidText_ReturnsListOfAvailableItems() {
         String searchText = "keyword";
-        when(itemRepository.search(eq(searchText), any(Pageable.class))).thenReturn(Collections.singletonList(item));
+        when(itemSearcher.search(eq(searchText), any(Pageable.class))).thenReturn(List.of(toView(item)));
 
         List<ItemDto> result = itemService.search(searchText, 0, 10);
 
@@ -247,6 +336,7 @@ class ItemServiceImplTest {
         assertEquals(1, result.size());
         ItemDto dto = result.get(0);
         assertEquals(item.getId(), dto.getId());
+        assertEquals(item.getOwner().getId(), dto.getOwnerId());
         assertEquals(item.getName(), dto.getName());
         assertEquals(item.getDescription(), dto.getDescription());
     }
@@ -270,13 +360,33 @@ class ItemServiceImplTest {
     }
 
     @Test
-    void search_NoAvailableItems_ReturnsEmptyList() {
+    void search_PageOfAvailableItems_IsReturnedAsIs() {
         String searchText = "keyword";
-        item.setAvailable(false);
-        when(itemRepository.search(eq(searchText), any(Pageable.class))).thenReturn(Collections.singletonList(item));
+        when(itemSearcher.search(eq(searchText), any(Pageable.class)))
+                .thenReturn(List.of(toView(item), toView(item2)));
 
-        List<ItemDto> result = itemService.search(searchText, 0, 10);
+        List<ItemDto> result = itemService.search(searchText, 0, 2);
 
-        assertTrue(result.isEmpty());
+        assertEquals(2, result.size());
+        verify(itemSearcher).search(searchText, PageRequest.of(0, 2));
+    }
+
+    private ItemSearchView toView(Item source) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", source.getId());
+        columns.put("ownerId", source.getOwner().getId());
+        columns.put("name", source.getName());
+        columns.put("description", source.getDescription());
+        columns.put("available", source.getAvailable());
+        columns.put("requestId", null);
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemSearchView.class, columns);
+    }
+
+    private ItemBookingView toBookingView(int itemId, int bookingId, int bookerId) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("itemId", itemId);
+        columns.put("id", bookingId);
+        columns.put("bookerId", bookerId);
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemBookingView.class, columns);
     }
 }
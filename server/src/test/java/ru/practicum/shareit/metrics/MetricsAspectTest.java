@@ -0,0 +1,73 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.search.Search;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingStateDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exceptions.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class MetricsAspectTest {
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void getAllBookingsOfOwner_RecordsServiceAndBookingQueryTimers() {
+        jdbcTemplate.update("insert into users (name, email) values ('owner', 'owner@metrics.ru')");
+        int ownerId = jdbcTemplate.queryForObject("select id from users where email = 'owner@metrics.ru'",
+                Integer.class);
+        Search service = registry.find("shareit.service")
+                .tags("method", "getAllBookingsOfOwner", "exception", "none");
+        Search query = registry.find("shareit.booking.query")
+                .tags("role", "OWNER", "state", "CURRENT", "paging", "offset", "exception", "none");
+        long servicesBefore = count(service);
+        long queriesBefore = count(query);
+
+        bookingService.getAllBookingsOfOwner(ownerId, BookingStateDto.CURRENT, 0, 10);
+
+        assertEquals(servicesBefore + 1, count(service));
+        assertEquals(queriesBefore + 1, count(query));
+    }
+
+    @Test
+    void getAllBookingsOfUser_UnknownUser_RecordsException() {
+        Search service = registry.find("shareit.service")
+                .tags("method", "getAllBookingsOfUser", "exception", "NotFoundException");
+        long before = count(service);
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.getAllBookingsOfUser(-1, BookingStateDto.ALL, 0, 10));
+
+        assertEquals(before + 1, count(service));
+    }
+
+    @Test
+    void inheritedRepositoryMethod_RecordsRepositoryTimer() {
+        Search repository = registry.find("shareit.repository")
+                .tags("class", "ItemRepository", "method", "findById");
+        long before = count(repository);
+
+        itemRepository.findById(-1);
+
+        assertEquals(before + 1, count(repository));
+    }
+
+    private static long count(Search search) {
+        return search.timers().stream().mapToLong(timer -> timer.count()).sum();
+    }
+}
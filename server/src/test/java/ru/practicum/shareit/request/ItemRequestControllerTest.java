@@ -88,6 +88,31 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.id").value(requestResponse.getId()));
     }
 
+    @Test
+    void getRequest_MatchingETag_ReturnsNotModified() throws Exception {
+        when(itemRequestService.getItemRequestETag(1)).thenReturn("0-2-0");
+
+        mockMvc.perform(get("/requests/{requestId}", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .header("If-None-Match", "\"0-2-0\""))
+                .andExpect(status().isNotModified());
+        verify(itemRequestService, never()).getItemRequestById(anyInt(), anyInt());
+    }
+
+    @Test
+    void getRequest_StaleETag_ReturnsRequestWithETag() throws Exception {
+        ItemRequestResponse requestResponse = createSampleRequestResponse();
+        when(itemRequestService.getItemRequestETag(1)).thenReturn("0-2-0");
+        when(itemRequestService.getItemRequestById(1, 1)).thenReturn(requestResponse);
+
+        mockMvc.perform(get("/requests/{requestId}", 1)
+                        .header("X-Sharer-User-Id", 1)
+                        .header("If-None-Match", "\"0-1-0\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-2-0\""))
+                .andExpect(jsonPath("$.id").value(requestResponse.getId()));
+    }
+
     private ItemRequestResponse createSampleRequestResponse() {
         return ItemRequestResponse.builder()
                 .id(1)
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestResponse;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ItemRequestServiceImplStatementsTest {
+    private static final int REQUESTS_COUNT = 100;
+    private static final int ITEMS_PER_REQUEST = 2;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int requestorId;
+    private int ownerId;
+
+    @BeforeEach
+    void setUp() {
+        requestorId = insertUser("requestor", "requestor@statements.ru");
+        ownerId = insertUser("owner", "owner@statements.ru");
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < REQUESTS_COUNT; i++) {
+            jdbcTemplate.update("insert into requests (requestor_id, item_description, created) values (?, ?, ?)",
+                    requestorId, "request" + i, Timestamp.valueOf(now.minusMinutes(i)));
+        }
+        List<Integer> requestIds = jdbcTemplate.queryForList("select id from requests where requestor_id = ?",
+                Integer.class, requestorId);
+        for (Integer requestId : requestIds) {
+            for (int i = 0; i < ITEMS_PER_REQUEST; i++) {
+                jdbcTemplate.update("insert into items (owner_id, name, description, is_available, request_id) " +
+                        "values (?, ?, ?, true, ?)", ownerId, "item" + i, "description" + i, requestId);
+            }
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getItemRequestsOfUser_AllRequests_ConstantStatementCount() {
+        List<ItemRequestResponse> result = itemRequestService.getItemRequestsOfUser(requestorId);
+
+        assertEquals(REQUESTS_COUNT, result.size());
+        result.forEach(r -> assertEquals(ITEMS_PER_REQUEST, r.getItems().size()));
+        // проверка пользователя, запросы, вещи всех запросов
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getItemRequestsNotOfUser_Page_ConstantStatementCount() {
+        List<ItemRequestResponse> result = itemRequestService.getItemRequestsNotOfUser(ownerId, 0, 50);
+
+        assertEquals(50, result.size());
+        result.forEach(r -> assertEquals(ITEMS_PER_REQUEST, r.getItems().size()));
+        // страница запросов и вещи этих запросов
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getItemRequestETag_OneStatementWithoutEntities_ChangesWhenItemAdded() {
+        int requestId = jdbcTemplate.queryForObject("select min(id) from requests", Integer.class);
+
+        assertEquals("0-2-0", itemRequestService.getItemRequestETag(requestId));
+        // только версия, пользователь проверяется при загрузке запроса
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+
+        itemService.create(ownerId, ItemDto.builder().name("answer").description("answer").available(true)
+                .requestId(requestId).build());
+        assertEquals("0-3-0", itemRequestService.getItemRequestETag(requestId));
+        assertNull(itemRequestService.getItemRequestETag(-1));
+    }
+
+    @Test
+    void getItemRequestETagThenById_ChecksUserOnce() {
+        int requestId = jdbcTemplate.queryForObject("select min(id) from requests", Integer.class);
+
+        itemRequestService.getItemRequestETag(requestId);
+        ItemRequestResponse result = itemRequestService.getItemRequestById(requestId, ownerId);
+
+        assertEquals(ITEMS_PER_REQUEST, result.getItems().size());
+        QueryStatistics userCheck = statistics.getQueryStatistics("select count(u) > 0 from User u where u.id = :id");
+        // из БД или из кэша запросов, но один раз
+        assertEquals(1, userCheck.getExecutionCount() + userCheck.getCacheHitCount());
+    }
+
+    private int insertUser(String name, String email) {
+        jdbcTemplate.update("insert into users (name, email) values (?, ?)", name, email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Integer.class, email);
+    }
+}
@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -90,7 +91,8 @@ public class ItemRequestServiceImplTest {
     void getItemRequestsOfUser_ValidUserId_ReturnsListOfItemRequestResponses() {
         when(userRepository.existsById(1)).thenReturn(true);
         when(itemRequestRepository.findAllByRequestor_Id(1)).thenReturn(Collections.singletonList(itemRequest));
-        when(itemRepository.findAllByRequest_Id(1)).thenReturn(Collections.singletonList(item));
+        item.setRequest(itemRequest);
+        when(itemRepository.findAllByRequest_IdIn(Set.of(1))).thenReturn(Collections.singletonList(item));
 
         List<ItemRequestResponse> result = itemRequestService.getItemRequestsOfUser(1);
 
@@ -113,19 +115,40 @@ public class ItemRequestServiceImplTest {
 
     @Test
     void getItemRequestsNotOfUser_ValidUserId_ReturnsListOfItemRequestResponses() {
-        when(itemRequestRepository.findAllNotOfUser(eq(1), any(Pageable.class))).thenReturn(List.of(itemRequest));
-        when(itemRepository.findAllByRequest_Id(1)).thenReturn(Collections.singletonList(item));
+        ItemRequest itemRequest2 = ItemRequest.builder()
+                .id(2)
+                .description("description2")
+                .requestor(user)
+                .created(LocalDateTime.now())
+                .build();
+        when(itemRequestRepository.findAllNotOfUser(eq(1), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest, itemRequest2));
+        item.setRequest(itemRequest);
+        item2.setRequest(itemRequest);
+        when(itemRepository.findAllByRequest_IdIn(Set.of(1, 2))).thenReturn(List.of(item, item2));
 
         List<ItemRequestResponse> result = itemRequestService.getItemRequestsNotOfUser(1, 0, 10);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(2, result.size());
 
         ItemRequestResponse response = result.get(0);
         assertEquals(itemRequest.getId(), response.getId());
         assertEquals(itemRequest.getDescription(), response.getDescription());
         assertNotNull(response.getCreated());
-        assertEquals(1, response.getItems().size());
+        assertEquals(2, response.getItems().size());
+        assertTrue(result.get(1).getItems().isEmpty());
+        verify(itemRepository, never()).findAllByRequest_Id(anyInt());
+    }
+
+    @Test
+    void getItemRequestsNotOfUser_EmptyPage_DoesNotLoadItems() {
+        when(itemRequestRepository.findAllNotOfUser(eq(1), any(Pageable.class))).thenReturn(List.of());
+
+        List<ItemRequestResponse> result = itemRequestService.getItemRequestsNotOfUser(1, 0, 10);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(itemRepository);
     }
 
     @Test
@@ -157,4 +180,12 @@ public class ItemRequestServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getItemRequestById(1, 1));
     }
+
+    @Test
+    void getItemRequestETag_DoesNotCheckUser() {
+        when(itemRequestRepository.findVersionById(1)).thenReturn(Optional.empty());
+
+        assertNull(itemRequestService.getItemRequestETag(1));
+        verifyNoInteractions(userRepository);
+    }
 }
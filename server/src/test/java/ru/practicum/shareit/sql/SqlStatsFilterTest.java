@@ -0,0 +1,68 @@
+package ru.practicum.shareit.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.sql-monitoring.headers=true",
+        "shareit.sql-monitoring.slow-query-threshold=0ms"})
+@AutoConfigureMockMvc
+@Transactional
+@ExtendWith(OutputCaptureExtension.class)
+class SqlStatsFilterTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void getUser_AddsSqlHeadersAndRecordsStatementsPerRequest() throws Exception {
+        int userId = insertUser();
+        DistributionSummary statements = registry.summary("shareit.http.sql.statements",
+                "method", "GET", "uri", "/users/{userId}");
+        long requestsBefore = statements.count();
+
+        MvcResult result = mockMvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("sql@filter.ru"))
+                .andReturn();
+
+        int count = Integer.parseInt(result.getResponse().getHeader(SqlStatsFilter.COUNT_HEADER));
+        assertEquals(1, count);
+        assertNotNull(result.getResponse().getHeader(SqlStatsFilter.TIME_HEADER));
+        assertEquals(requestsBefore + 1, statements.count());
+    }
+
+    @Test
+    void slowQuery_LoggedWithParameters(CapturedOutput output) throws Exception {
+        int userId = insertUser();
+
+        mockMvc.perform(get("/users/{userId}", userId))
+                .andExpect(status().isOk());
+
+        assertTrue(output.getOut().contains("where user0_.id=?\"], Params:[(" + userId + ")]"));
+    }
+
+    private int insertUser() {
+        jdbcTemplate.update("insert into users (name, email) values ('sql', 'sql@filter.ru')");
+        return jdbcTemplate.queryForObject("select id from users where email = 'sql@filter.ru'", Integer.class);
+    }
+}
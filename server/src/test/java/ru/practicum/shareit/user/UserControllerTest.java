@@ -45,6 +45,20 @@ class UserControllerTest {
         verify(userService).findAll();
     }
 
+    @Test
+    void createAll_ReturnsCreatedUsers() throws Exception {
+        List<UserDto> userDtos = List.of(createSampleUserDto());
+        when(userService.createAll(anyList())).thenReturn(userDtos);
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(userDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(userDtos.get(0).getId()));
+
+        verify(userService).createAll(userDtos);
+    }
+
     @Test
     void getUserById_ReturnsUser() throws Exception {
         UserDto userDto = createSampleUserDto();
@@ -13,6 +13,7 @@ import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.validator.BatchValidator;
 
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +27,8 @@ class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private BatchValidator batchValidator;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -57,6 +60,38 @@ class UserServiceImplTest {
         assertEquals(user1, actualUser);
     }
 
+    @Test
+    void createAll_SavesAllUsersInOneCall() {
+        List<UserDto> dtos = List.of(new UserDto(0, "a", "a@a.ru"), new UserDto(0, "b", "b@b.ru"));
+        when(userRepository.saveAllAndFlush(anyList())).thenReturn(List.of(user1, user2));
+
+        List<UserDto> result = userService.createAll(dtos);
+
+        assertEquals(2, result.size());
+        verify(batchValidator).validateAll(dtos);
+        verify(userRepository).saveAllAndFlush(argThat(users -> ((List<User>) users).stream()
+                .allMatch(user -> user.getId() == null)));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void createAll_DuplicateEmailInBatch_ThrowsConflictWithoutSaving() {
+        List<UserDto> dtos = List.of(new UserDto(0, "a", "a@a.ru"), new UserDto(0, "b", "a@a.ru"));
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> userService.createAll(dtos));
+
+        assertEquals(409, ex.getHttpStatus().value());
+        verify(userRepository, never()).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void createAll_EmailExists_ThrowsConflict() {
+        when(userRepository.saveAllAndFlush(anyList())).thenThrow(DataIntegrityViolationException.class);
+
+        assertThrows(ValidationException.class,
+                () -> userService.createAll(List.of(new UserDto(0, "a", "a@a.ru"))));
+    }
+
     @Test
     void getUserById_whenUserNotExists_thenReturnNotFoundExceptionThrow() {
         when(userRepository.findById(anyInt())).thenReturn(Optional.empty());
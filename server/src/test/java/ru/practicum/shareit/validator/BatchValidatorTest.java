@@ -0,0 +1,35 @@
+package ru.practicum.shareit.validator;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.validation.Validation;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchValidatorTest {
+    private final BatchValidator batchValidator =
+            new BatchValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void validateAll_AllValid_DoesNotThrow() {
+        assertDoesNotThrow(() -> batchValidator.validateAll(List.of(
+                new UserDto(0, "a", "a@a.ru"), new UserDto(0, "b", "b@b.ru"))));
+    }
+
+    @Test
+    void validateAll_InvalidElement_ThrowsWithElementIndex() {
+        ValidationException ex = assertThrows(ValidationException.class, () -> batchValidator.validateAll(List.of(
+                new UserDto(0, "a", "a@a.ru"), new UserDto(0, "b", "not-an-email"))));
+
+        assertEquals(400, ex.getHttpStatus().value());
+        assertTrue(ex.getErrorMessage().startsWith("Элемент 1: email"));
+    }
+
+    @Test
+    void validateAll_Empty_Throws() {
+        assertThrows(ValidationException.class, () -> batchValidator.validateAll(List.of()));
+    }
+}